@@ -2,6 +2,7 @@ plugins {
     id("java")
     id("idea")
     id("com.vanniktech.maven.publish") version "0.34.0"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "io.github.pjcdarker"
@@ -26,6 +27,8 @@ dependencies {
 
     testRuntimeOnly(libs.junit.platform.launcher)
     testRuntimeOnly(libs.log4jdbc)
+
+    jmh(libs.h2)
 }
 
 tasks.test {
@@ -43,6 +46,20 @@ listOf("h2", "mysql").forEach {
     }
 }
 
+// benchmark, e.g. ./gradlew jmh -PjmhIncludes=SqlSelectBenchmark
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    benchmarkMode.set(listOf("thrpt"))
+    timeUnit.set("s")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // bytes allocated per op: gc.alloc.rate.norm
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    (project.findProperty("jmhIncludes") as String?)?.let { includes.add(it) }
+}
+
 mavenPublishing {
 
     coordinates(project.group.toString(), "sjsql", project.version.toString())
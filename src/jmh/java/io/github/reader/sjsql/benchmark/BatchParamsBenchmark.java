@@ -0,0 +1,52 @@
+package io.github.reader.sjsql.benchmark;
+
+import io.github.reader.sjsql.RefValue;
+import io.github.reader.sjsql.SqlInsert;
+import io.github.reader.sjsql.SqlKeywords.Op;
+import io.github.reader.sjsql.SqlUpdate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Params of batch statements read from entities.
+ */
+@State(Scope.Benchmark)
+public class BatchParamsBenchmark {
+
+    @Param({"10000"})
+    private int entities;
+
+    private List<BenchAccount> accounts;
+
+    @Setup
+    public void setUp() {
+        accounts = new ArrayList<>(entities);
+        LocalDateTime createTime = LocalDateTime.of(2025, 9, 1, 10, 30, 0);
+        for (int i = 0; i < entities; i++) {
+            accounts.add(new BenchAccount((long) i, "name" + i, "user" + i + "@test.com", "code" + i, i % 2 == 0,
+                createTime.plusSeconds(i)));
+        }
+    }
+
+    @Benchmark
+    public Object[][] insertBatchParams() {
+        return SqlInsert.batch("account", accounts).batchParams();
+    }
+
+    @Benchmark
+    public Object[][] updateBatchParams() {
+        return SqlUpdate.batch("account", accounts)
+                        .set$("name")
+                        .set$("email")
+                        .set$("code")
+                        .where("id", Op.eq(RefValue.ref("id")))
+                        .batchParams();
+    }
+}
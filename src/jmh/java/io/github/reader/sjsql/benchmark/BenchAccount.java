@@ -0,0 +1,26 @@
+package io.github.reader.sjsql.benchmark;
+
+import java.time.LocalDateTime;
+
+public class BenchAccount {
+
+    private Long id;
+    private String name;
+    private String email;
+    private String code;
+    private Boolean enabled;
+    private LocalDateTime createTime;
+
+    public BenchAccount() {
+    }
+
+    public BenchAccount(Long id, String name, String email, String code, Boolean enabled,
+        LocalDateTime createTime) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.code = code;
+        this.enabled = enabled;
+        this.createTime = createTime;
+    }
+}
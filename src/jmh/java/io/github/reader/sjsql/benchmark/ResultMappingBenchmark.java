@@ -0,0 +1,121 @@
+package io.github.reader.sjsql.benchmark;
+
+import io.github.reader.sjsql.result.ColumnarResult;
+import io.github.reader.sjsql.result.ResultType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mapping result sets of in-memory H2, rawJdbc is the hand-written baseline of the same rows and columns.
+ * <p>
+ * Columns rotate through BIGINT, VARCHAR, DECIMAL and TIMESTAMP, see {@link WideRow}.
+ */
+@State(Scope.Thread)
+public class ResultMappingBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int rows;
+
+    @Param({"4", "16"})
+    private int columns;
+
+    private Connection connection;
+    private PreparedStatement ps;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+            "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false;MODE=MySQL", "sa", "");
+        StringBuilder ddl = new StringBuilder("CREATE TABLE IF NOT EXISTS wide_row (");
+        StringBuilder insert = new StringBuilder("INSERT INTO wide_row VALUES (");
+        for (int i = 0; i < WideRow.COLUMNS; i++) {
+            ddl.append(i == 0 ? "" : ",").append('c').append(i).append(' ').append(WideRow.sqlType(i));
+            insert.append(i == 0 ? "?" : ",?");
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(ddl.append(')').toString());
+            statement.execute("DELETE FROM wide_row");
+        }
+
+        try (PreparedStatement insertPs = connection.prepareStatement(insert.append(')').toString())) {
+            LocalDateTime time = LocalDateTime.of(2025, 9, 1, 10, 30, 0);
+            for (int row = 0; row < rows; row++) {
+                for (int i = 0; i < WideRow.COLUMNS; i++) {
+                    switch (i % 4) {
+                        case 0 -> insertPs.setLong(i + 1, row * 31L + i);
+                        case 1 -> insertPs.setString(i + 1, "value-" + row + "-" + i);
+                        case 2 -> insertPs.setBigDecimal(i + 1, BigDecimal.valueOf(row * 100L + i, 2));
+                        default -> insertPs.setObject(i + 1, time.plusMinutes(row));
+                    }
+                }
+                insertPs.addBatch();
+            }
+            insertPs.executeBatch();
+        }
+
+        StringBuilder select = new StringBuilder("SELECT ");
+        for (int i = 0; i < columns; i++) {
+            select.append(i == 0 ? "" : ",").append('c').append(i);
+        }
+        ps = connection.prepareStatement(select.append(" FROM wide_row").toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        ps.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public List<WideRow> rawJdbc() throws SQLException {
+        List<WideRow> results = new ArrayList<>();
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                WideRow row = new WideRow();
+                for (int i = 0; i < columns; i++) {
+                    row.set(rs, i);
+                }
+                results.add(row);
+            }
+        }
+        return results;
+    }
+
+    @Benchmark
+    public List<WideRow> beanList() throws Throwable {
+        try (ResultSet rs = ps.executeQuery()) {
+            return ResultType.of(WideRow.class).mappingList(rs);
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> mapList() throws Throwable {
+        try (ResultSet rs = ps.executeQuery()) {
+            return (List) ResultType.of(Map.class).mappingList(rs);
+        }
+    }
+
+    @Benchmark
+    public ColumnarResult columnar() throws Throwable {
+        try (ResultSet rs = ps.executeQuery()) {
+            return ResultType.columnar().mapping(rs);
+        }
+    }
+}
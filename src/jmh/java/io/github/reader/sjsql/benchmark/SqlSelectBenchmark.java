@@ -0,0 +1,79 @@
+package io.github.reader.sjsql.benchmark;
+
+import io.github.reader.sjsql.SqlCondition;
+import io.github.reader.sjsql.SqlKeywords.Op;
+import io.github.reader.sjsql.SqlSelect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Building and rendering selects, the select is rebuilt per op like an application does per request.
+ */
+@State(Scope.Thread)
+public class SqlSelectBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int inSize;
+
+    private List<Long> ids;
+
+    @Setup
+    public void setUp() {
+        ids = new ArrayList<>(inSize);
+        for (long i = 0; i < inSize; i++) {
+            ids.add(i);
+        }
+    }
+
+    private SqlSelect select() {
+        return SqlSelect.from("account", "a")
+                        .select("a.id", "a.name", "a.email")
+                        .leftJoin("tenant", "t", "t.account_id", "a.id")
+                        .where("a.enabled", Op.eq(1))
+                        .where("a.create_time", Op.between("2025-01-01", "2025-12-31"))
+                        .where("a.id", Op.in(ids))
+                        .orderBy("a.id")
+                        .limit(0, 20);
+    }
+
+    @Benchmark
+    public String toSql() {
+        return select().toSql();
+    }
+
+    /**
+     * baseline of {@link #toSql()}, the fork renders without the render cache.
+     */
+    @Benchmark
+    @Fork(jvmArgsAppend = "-Dsjsql.renderCacheSize=0")
+    public String toSqlUncached() {
+        return select().toSql();
+    }
+
+    @Benchmark
+    public String totalRowSql() {
+        return select().totalRowSql();
+    }
+
+    @Benchmark
+    public Object[] params() {
+        return select().params();
+    }
+
+    @Benchmark
+    public String conditionChain() {
+        SqlCondition<Object> condition = SqlCondition.create()
+                                                     .and("name", Op.like("a%"))
+                                                     .or("code", Op.in(ids))
+                                                     .and("email", Op.is_not_null())
+                                                     .and("id", Op.in(ids, true));
+        return condition.toSql();
+    }
+}
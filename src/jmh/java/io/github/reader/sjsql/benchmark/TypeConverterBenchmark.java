@@ -0,0 +1,45 @@
+package io.github.reader.sjsql.benchmark;
+
+import io.github.reader.sjsql.result.TypeConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@State(Scope.Thread)
+public class TypeConverterBenchmark {
+
+    private Object intValue = 42;
+    private Object decimalValue = new BigDecimal("1234.50");
+    private Object stringValue = "12345";
+    private Object timestampValue = Timestamp.valueOf(LocalDateTime.of(2025, 9, 1, 10, 30, 0));
+    private Object longValue = 42L;
+
+    @Benchmark
+    public Object integerToLong() {
+        return TypeConverter.convert(intValue, Long.class);
+    }
+
+    @Benchmark
+    public Object decimalToDouble() {
+        return TypeConverter.convert(decimalValue, Double.class);
+    }
+
+    @Benchmark
+    public Object stringToInteger() {
+        return TypeConverter.convert(stringValue, Integer.class);
+    }
+
+    @Benchmark
+    public Object timestampToLocalDateTime() {
+        return TypeConverter.convert(timestampValue, LocalDateTime.class);
+    }
+
+    @Benchmark
+    public Object sameType() {
+        return TypeConverter.convert(longValue, Long.class);
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.reader.sjsql.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Row of 16 columns, column i is BIGINT, VARCHAR, DECIMAL or TIMESTAMP by i % 4.
+ */
+public class WideRow {
+
+    static final int COLUMNS = 16;
+
+    private Long c0;
+    private String c1;
+    private BigDecimal c2;
+    private LocalDateTime c3;
+    private Long c4;
+    private String c5;
+    private BigDecimal c6;
+    private LocalDateTime c7;
+    private Long c8;
+    private String c9;
+    private BigDecimal c10;
+    private LocalDateTime c11;
+    private Long c12;
+    private String c13;
+    private BigDecimal c14;
+    private LocalDateTime c15;
+
+    static String sqlType(int column) {
+        return switch (column % 4) {
+            case 0 -> "BIGINT";
+            case 1 -> "VARCHAR(50)";
+            case 2 -> "DECIMAL(12,2)";
+            default -> "TIMESTAMP";
+        };
+    }
+
+    /**
+     * the hand-written mapping of the raw JDBC baseline.
+     */
+    void set(ResultSet rs, int column) throws SQLException {
+        int index = column + 1;
+        switch (column) {
+            case 0 -> c0 = rs.getLong(index);
+            case 1 -> c1 = rs.getString(index);
+            case 2 -> c2 = rs.getBigDecimal(index);
+            case 3 -> c3 = rs.getObject(index, LocalDateTime.class);
+            case 4 -> c4 = rs.getLong(index);
+            case 5 -> c5 = rs.getString(index);
+            case 6 -> c6 = rs.getBigDecimal(index);
+            case 7 -> c7 = rs.getObject(index, LocalDateTime.class);
+            case 8 -> c8 = rs.getLong(index);
+            case 9 -> c9 = rs.getString(index);
+            case 10 -> c10 = rs.getBigDecimal(index);
+            case 11 -> c11 = rs.getObject(index, LocalDateTime.class);
+            case 12 -> c12 = rs.getLong(index);
+            case 13 -> c13 = rs.getString(index);
+            case 14 -> c14 = rs.getBigDecimal(index);
+            default -> c15 = rs.getObject(index, LocalDateTime.class);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.reader.sjsql;
+
+import java.util.Locale;
+
+/**
+ * Database of the statements that are written differently by database, e.g. bulk load.
+ */
+public enum Dialect {
+    MYSQL,
+    H2,
+    OTHER;
+
+    /**
+     * the dialect of {@link java.sql.DatabaseMetaData#getDatabaseProductName()}, MariaDB is MYSQL.
+     */
+    public static Dialect of(String databaseProductName) {
+        if (databaseProductName == null) {
+            return OTHER;
+        }
+        String name = databaseProductName.toLowerCase(Locale.ROOT);
+        if (name.contains("mysql") || name.contains("mariadb")) {
+            return MYSQL;
+        }
+        if (name.equals("h2")) {
+            return H2;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.reader.sjsql;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pad the params of {@code IN (?,...)} lists up to bucket sizes by repeating the last value, so the lists of
+ * different sizes share the sql text, and with it the prepared statement caches and the query digests. Set on the
+ * builders that pad, the lists of the other builders are not padded.
+ * <pre>{@code
+ * InListPadding padding = InListPadding.powersOfTwo();
+ * SqlSelect.from("account").inListPadding(padding).where("id", Op.in(List.of(1, 2, 3)));
+ * // id IN (?,?,?,?), params 1, 2, 3, 3
+ * }</pre>
+ * A list larger than the largest bucket is padded to a multiple of the largest bucket. The stats are of the lists
+ * padded by this instance, share it between the builders of one kind of query.
+ */
+public final class InListPadding {
+
+    private static final int MAX_TRACKED_SIZES = 4096;
+    private static final int[] POWERS_OF_TWO = {1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024};
+
+    // ascending bucket sizes
+    private final int[] buckets;
+
+    private final LongAdder lists = new LongAdder();
+    private final LongAdder paddedLists = new LongAdder();
+    private final LongAdder paddedParams = new LongAdder();
+    private final Set<Integer> listSizes = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> paddedSizes = ConcurrentHashMap.newKeySet();
+
+    private InListPadding(int[] buckets) {
+        this.buckets = buckets;
+    }
+
+    /**
+     * buckets 1, 2, 4, ... 1024, the larger lists are padded to a multiple of 1024.
+     */
+    public static InListPadding powersOfTwo() {
+        return new InListPadding(POWERS_OF_TWO);
+    }
+
+    /**
+     * @param sizes ascending bucket sizes
+     */
+    public static InListPadding buckets(int... sizes) {
+        if (sizes == null || sizes.length == 0) {
+            throw new IllegalArgumentException("Bucket sizes cannot be empty");
+        }
+        for (int i = 0; i < sizes.length; i++) {
+            if (sizes[i] <= 0 || (i > 0 && sizes[i] <= sizes[i - 1])) {
+                throw new IllegalArgumentException("Bucket sizes must be ascending and greater than 0");
+            }
+        }
+        return new InListPadding(sizes.clone());
+    }
+
+    /**
+     * the number of params of an IN list of the size, recorded in the stats.
+     */
+    int paddedSize(int size) {
+        int padded = size <= 0 ? size : bucketOf(size);
+
+        lists.increment();
+        if (padded > size) {
+            paddedLists.increment();
+            paddedParams.add(padded - size);
+        }
+        if (listSizes.size() < MAX_TRACKED_SIZES) {
+            listSizes.add(size);
+        }
+        if (paddedSizes.size() < MAX_TRACKED_SIZES) {
+            paddedSizes.add(padded);
+        }
+        return padded;
+    }
+
+    private int bucketOf(int size) {
+        for (int bucket : buckets) {
+            if (bucket >= size) {
+                return bucket;
+            }
+        }
+        int largest = buckets[buckets.length - 1];
+        return (size + largest - 1) / largest * largest;
+    }
+
+    public Stats stats() {
+        return new Stats(lists.sum(), paddedLists.sum(), paddedParams.sum(), listSizes.size(), paddedSizes.size());
+    }
+
+    public void resetStats() {
+        lists.reset();
+        paddedLists.reset();
+        paddedParams.reset();
+        listSizes.clear();
+        paddedSizes.clear();
+    }
+
+    /**
+     * @param lists        IN lists rendered
+     * @param paddedLists  IN lists padded
+     * @param paddedParams params added by the padding
+     * @param listSizes    distinct sizes of the IN lists, i.e. the sql shapes without padding
+     * @param paddedSizes  distinct sizes of the padded IN lists, i.e. the sql shapes with padding
+     */
+    public record Stats(long lists, long paddedLists, long paddedParams, int listSizes, int paddedSizes) {
+
+        /**
+         * the sql shapes removed by the padding.
+         */
+        public int shapesRemoved() {
+            return listSizes - paddedSizes;
+        }
+    }
+}
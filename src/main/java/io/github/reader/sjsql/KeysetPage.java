@@ -0,0 +1,17 @@
+package io.github.reader.sjsql;
+
+import java.util.List;
+
+/**
+ * A page of keyset pagination.
+ *
+ * @param rows    rows of the page
+ * @param nextKey key values of the last row, pass it to {@link SqlSelect#seekAfter(Object...)} for the next page.
+ *                null when this is the last page
+ */
+public record KeysetPage<T>(List<T> rows, Object[] nextKey) {
+
+    public boolean hasNext() {
+        return nextKey != null;
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.reader.sjsql;
+
+import java.util.List;
+
+/**
+ * A page of offset pagination.
+ *
+ * @param rows     rows of the page
+ * @param total    total rows of the query
+ * @param pageable the page request
+ */
+public record Page<T>(List<T> rows, long total, Pageable pageable) {
+
+    public int totalPages() {
+        return (int) ((total + pageable.size() - 1) / pageable.size());
+    }
+
+    public boolean hasNext() {
+        return pageable.offset() + rows.size() < total;
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.reader.sjsql;
+
+/**
+ * Page request.
+ *
+ * @param page page index, starts from 0
+ * @param size rows per page
+ */
+public record Pageable(int page, int size) {
+
+    public Pageable {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be greater than 0");
+        }
+    }
+
+    public static Pageable of(int page, int size) {
+        return new Pageable(page, size);
+    }
+
+    public int offset() {
+        return page * size;
+    }
+
+    public Pageable next() {
+        return new Pageable(page + 1, size);
+    }
+}
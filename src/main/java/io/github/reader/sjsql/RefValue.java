@@ -14,6 +14,10 @@ public class RefValue {
         return PREFIX + fieldName;
     }
 
+    public static boolean isRef(Object value) {
+        return value instanceof String valueString && valueString.startsWith(PREFIX);
+    }
+
     public static Object replace(Object instance, Object value) {
         if (value instanceof String valueString && valueString.startsWith(PREFIX)) {
             String columnValue = valueString.substring(PREFIX.length());
@@ -1,23 +1,28 @@
 package io.github.reader.sjsql;
 
 import io.github.reader.sjsql.SqlKeywords.Op;
+import io.github.reader.sjsql.SqlKeywords.Op.Template;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 public class SqlCondition<T> {
 
     private final List<Object> params;
-    private final StringBuilder builder;
+    private final List<Part> parts;
+    private final Set<String> tables;
     private T host;
-    private String subFormat = "(%s)";
+    private InListPadding inListPadding;
 
     private SqlCondition() {
         this.params = new ArrayList<>();
-        this.builder = new StringBuilder(100);
+        this.parts = new ArrayList<>();
+        this.tables = new LinkedHashSet<>();
     }
 
     public static <T> SqlCondition<T> create() {
@@ -31,26 +36,37 @@ public class SqlCondition<T> {
         return sqlCondition;
     }
 
+    /**
+     * pad the IN lists of the conditions added afterwards, null for none.
+     */
+    public SqlCondition<T> inListPadding(InListPadding inListPadding) {
+        this.inListPadding = inListPadding;
+        return this;
+    }
+
     public SqlCondition<T> and(String column, Op op) {
         return this.and(column, op, true);
     }
 
     public SqlCondition<T> and(String column, Op op, boolean appendIfTrue) {
         if (appendIfTrue) {
-            addCond(SqlKeywords.AND.toString(), op.format(column));
-            addParam(op);
+            Template template = op.template(inListPadding);
+            addCond(new OpPart(SqlKeywords.AND.toString(), column, template, false));
+            addParam(op, template);
+            addTables(op);
         }
         return this;
     }
 
 
     public SqlCondition<T> and(SqlCondition<?> sqlCondition) {
-        if (sqlCondition.builder.isEmpty()) {
+        if (sqlCondition.isBlank()) {
             return this;
         }
 
-        addCond(SqlKeywords.AND.toString(), String.format(subFormat, sqlCondition.toSql()));
+        addCond(new SqlPart(SqlKeywords.AND.toString(), "", sqlCondition.toSql()));
         this.params.addAll(sqlCondition.params);
+        this.tables.addAll(sqlCondition.tables);
         return this;
     }
 
@@ -72,8 +88,10 @@ public class SqlCondition<T> {
 
     public SqlCondition<T> or(String column, Op op, boolean appendIfTrue) {
         if (appendIfTrue) {
-            addCond(SqlKeywords.OR.toString(), String.format(subFormat, op.format(column)));
-            addParam(op);
+            Template template = op.template(inListPadding);
+            addCond(new OpPart(SqlKeywords.OR.toString(), column, template, true));
+            addParam(op, template);
+            addTables(op);
         }
         return this;
     }
@@ -90,30 +108,33 @@ public class SqlCondition<T> {
     }
 
     public SqlCondition<T> or(SqlCondition<Object> sqlCondition) {
-        if (sqlCondition.builder.isEmpty()) {
+        if (sqlCondition.isBlank()) {
             return this;
         }
-        addCond(SqlKeywords.OR.toString(), String.format(subFormat, sqlCondition.toSql()));
+        addCond(new SqlPart(SqlKeywords.OR.toString(), "", sqlCondition.toSql()));
         this.params.addAll(sqlCondition.params);
+        this.tables.addAll(sqlCondition.tables);
         return this;
     }
 
 
     public SqlCondition<T> exists(SqlSelect sqlSelect) {
         Objects.requireNonNull(sqlSelect, "sqlSelect cannot be null");
-        addCond("", SqlKeywords.EXISTS + String.format(subFormat, sqlSelect.toSql()));
+        addCond(new SqlPart("", SqlKeywords.EXISTS.toString(), sqlSelect.toSql()));
         this.params.addAll(Arrays.asList(sqlSelect.params()));
+        this.tables.addAll(sqlSelect.tables());
         return this;
     }
 
     public SqlCondition<T> not_exists(SqlSelect sqlSelect) {
         Objects.requireNonNull(sqlSelect, "sqlSelect cannot be null");
-        addCond("", SqlKeywords.NOT_EXISTS + String.format(subFormat, sqlSelect.toSql()));
+        addCond(new SqlPart("", SqlKeywords.NOT_EXISTS.toString(), sqlSelect.toSql()));
         this.params.addAll(Arrays.asList(sqlSelect.params()));
+        this.tables.addAll(sqlSelect.tables());
         return this;
     }
 
-    private void addParam(Op op) {
+    private void addParam(Op op, Template template) {
         if (op.isNoneParam()) {
             return;
         }
@@ -121,12 +142,24 @@ public class SqlCondition<T> {
         Object param = op.getParam();
         if (param instanceof Collection<?> c) {
             this.params.addAll(c);
+            // repeat the last value of the IN list padded by InListPadding
+            int padding = c.isEmpty() ? 0 : template.size() - c.size();
+            Object last = padding > 0 ? this.params.getLast() : null;
+            for (int i = 0; i < padding; i++) {
+                this.params.add(last);
+            }
             return;
         }
 
         this.params.add(param);
     }
 
+    private void addTables(Op op) {
+        if (op.subSelect() != null) {
+            this.tables.addAll(op.subSelect().tables());
+        }
+    }
+
     private boolean isBlank(Object value) {
         if (value instanceof String s) {
             return s.isBlank();
@@ -139,14 +172,8 @@ public class SqlCondition<T> {
     }
 
 
-    private void addCond(String logicalOpType, String cond) {
-        if (this.builder.isEmpty()) {
-            logicalOpType = "";
-        }
-
-        this.builder
-            .append(logicalOpType)
-            .append(cond);
+    private void addCond(Part part) {
+        this.parts.add(part);
     }
 
     public List<Object> params() {
@@ -154,11 +181,58 @@ public class SqlCondition<T> {
     }
 
     public String toSql() {
-        return this.builder.toString();
+        if (this.parts.isEmpty()) {
+            return "";
+        }
+        return SqlRenderCache.get(new Shape(this.parts), this::render);
     }
 
     public boolean isBlank() {
-        return this.builder.isEmpty();
+        return this.parts.isEmpty();
+    }
+
+    /**
+     * the conditions as immutable tokens, used as part of the shape of statements.
+     */
+    List<Part> parts() {
+        return this.parts;
+    }
+
+    /**
+     * the columns of the conditions when they are all {@code column = ?} joined by AND, otherwise null.
+     */
+    List<String> eqColumns() {
+        List<String> columns = new ArrayList<>(this.parts.size());
+        for (Part part : this.parts) {
+            // the logical operator of the first condition is not rendered
+            if (!columns.isEmpty() && !SqlKeywords.AND.toString().equals(part.logicalOp())) {
+                return null;
+            }
+            if (!(part instanceof OpPart opPart) || opPart.wrap() || !"=".equals(opPart.op().sign())
+                || opPart.op().subSql() != null) {
+                return null;
+            }
+            columns.add(opPart.column());
+        }
+        // one param per condition, e.g. not eq(list)
+        return columns.isEmpty() || columns.size() != this.params.size() ? null : columns;
+    }
+
+    /**
+     * the tables read by the sub queries of the conditions.
+     */
+    Set<String> tables() {
+        return this.tables;
+    }
+
+    private String render() {
+        StringBuilder builder = new StringBuilder(100);
+        for (Part part : this.parts) {
+            // the first condition has no logical operator
+            builder.append(builder.isEmpty() ? "" : part.logicalOp());
+            part.render(builder);
+        }
+        return builder.toString();
     }
 
     /**
@@ -167,4 +241,45 @@ public class SqlCondition<T> {
     public T end() {
         return this.host;
     }
+
+    sealed interface Part permits OpPart, SqlPart {
+
+        String logicalOp();
+
+        void render(StringBuilder builder);
+    }
+
+    /**
+     * {@code column op ?}, wrapped by parentheses for OR.
+     */
+    private record OpPart(String logicalOp, String column, Template op, boolean wrap) implements Part {
+
+        @Override
+        public void render(StringBuilder builder) {
+            if (wrap) {
+                builder.append('(').append(op.format(column)).append(')');
+            } else {
+                builder.append(op.format(column));
+            }
+        }
+    }
+
+    /**
+     * {@code prefix(sql)} of nested condition or sub query.
+     */
+    private record SqlPart(String logicalOp, String prefix, String sql) implements Part {
+
+        @Override
+        public void render(StringBuilder builder) {
+            builder.append(prefix).append('(').append(sql).append(')');
+        }
+    }
+
+    private record Shape(List<Part> parts) implements SqlRenderCache.Shape {
+
+        @Override
+        public Shape snapshot() {
+            return new Shape(SqlRenderCache.copyOf(parts));
+        }
+    }
 }
@@ -11,6 +11,7 @@ public class SqlDelete {
     private final String table;
     private boolean agree_without_where_clause = false;
     private List<?> dataset;
+    private int collapseRows;
 
     public final SqlCondition<SqlDelete> where;
 
@@ -35,6 +36,14 @@ public class SqlDelete {
         return sqlDelete;
     }
 
+    /**
+     * pad the IN lists of the conditions added afterwards, null for none, see {@link InListPadding}.
+     */
+    public SqlDelete inListPadding(InListPadding inListPadding) {
+        this.where.inListPadding(inListPadding);
+        return this;
+    }
+
     public SqlDelete where(String column, Op op) {
         this.where.and(column, op);
         return this;
@@ -45,10 +54,39 @@ public class SqlDelete {
         return this;
     }
 
+    /**
+     * Collapse the batch into statements of at most maxRows rows, for the batch keyed by
+     * {@code where(key, Op.eq(RefValue.ref(...)))}: {@code DELETE FROM t WHERE id IN (?,...)}, or
+     * {@code WHERE (a,b) IN ((?,?),...)} of the composite key of more conditions.
+     * <p>
+     * Every statement has the same number of rows, the last one repeats its last row, so {@link #toSql()} runs with
+     * the rows of {@link #batchParams()} as one JDBC batch, and the affected rows add up to the deleted rows.
+     */
+    public SqlDelete collapse(int maxRows) {
+        if (maxRows <= 0) {
+            throw new IllegalArgumentException("maxRows must be greater than 0");
+        }
+        if (this.dataset == null) {
+            throw new IllegalStateException("Only the batch of entities can be collapsed");
+        }
+        this.collapseRows = maxRows;
+        return this;
+    }
+
     public String toSql() {
         if (this.where.isBlank() && !this.agree_without_where_clause) {
             throw new IllegalStateException("[WARN] The delete statement is without where clause");
         }
+        if (isCollapsed()) {
+            List<String> keys = collapseKeys();
+            int rows = statementRows();
+            return SqlRenderCache.get(new CollapsedShape(this.table, keys, rows),
+                () -> renderCollapsedSql(keys, rows));
+        }
+        return SqlRenderCache.get(new Shape(this.table, this.where.parts()), this::renderSql);
+    }
+
+    private String renderSql() {
         StringBuilder sql = new StringBuilder(80 + this.where.params().toString().length());
         sql.append(SqlKeywords.DELETE)
            .append(SqlKeywords.FROM)
@@ -63,6 +101,33 @@ public class SqlDelete {
         return sql.toString();
     }
 
+    private String renderCollapsedSql(List<String> keys, int rows) {
+        String tuple;
+        StringBuilder sql = new StringBuilder(80 + rows * (keys.size() * 2 + 3));
+        sql.append(SqlKeywords.DELETE)
+           .append(SqlKeywords.FROM)
+           .append(table)
+           .append(SqlKeywords.WHERE);
+        if (keys.size() == 1) {
+            sql.append(keys.getFirst());
+            tuple = "?";
+        } else {
+            // row value of the composite key
+            sql.append('(').append(String.join(",", keys)).append(')');
+            tuple = "(" + "?,".repeat(keys.size() - 1) + "?)";
+        }
+
+        sql.append(" IN (");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(',');
+            }
+            sql.append(tuple);
+        }
+        sql.append(");");
+        return sql.toString();
+    }
+
     public Object[] params() {
         return batchParams()[0];
     }
@@ -72,6 +137,13 @@ public class SqlDelete {
             Object[] array = this.where.params().toArray();
             return new Object[][]{array};
         }
+        if (isCollapsed()) {
+            return collapsedParams();
+        }
+        return entityParams();
+    }
+
+    private Object[][] entityParams() {
 
         List<Object[]> paramsList = new ArrayList<>();
         try {
@@ -90,4 +162,53 @@ public class SqlDelete {
         return paramsList.toArray(new Object[0][]);
     }
 
+    private Object[][] collapsedParams() {
+        List<String> keys = collapseKeys();
+        Object[][] entityParams = entityParams();
+        int rows = statementRows();
+        Object[][] batchParams = new Object[(entityParams.length + rows - 1) / rows][];
+        for (int s = 0; s < batchParams.length; s++) {
+            Object[] params = new Object[rows * keys.size()];
+            for (int r = 0; r < rows; r++) {
+                // the last statement repeats its last row
+                Object[] row = entityParams[Math.min(s * rows + r, entityParams.length - 1)];
+                System.arraycopy(row, 0, params, r * keys.size(), keys.size());
+            }
+            batchParams[s] = params;
+        }
+        return batchParams;
+    }
+
+    private boolean isCollapsed() {
+        return this.collapseRows > 0;
+    }
+
+    private int statementRows() {
+        return Math.min(this.collapseRows, this.dataset.size());
+    }
+
+    private List<String> collapseKeys() {
+        List<String> keys = this.where.eqColumns();
+        if (keys == null || !this.where.params().stream().allMatch(RefValue::isRef)) {
+            throw new IllegalStateException(
+                "Only the batch of where(key, Op.eq(RefValue.ref(field))) conditions can be collapsed");
+        }
+        return keys;
+    }
+
+    private record Shape(String table, List<SqlCondition.Part> where) implements SqlRenderCache.Shape {
+
+        @Override
+        public Shape snapshot() {
+            return new Shape(table, SqlRenderCache.copyOf(where));
+        }
+    }
+
+    private record CollapsedShape(String table, List<String> keys, int rows) implements SqlRenderCache.Shape {
+
+        @Override
+        public CollapsedShape snapshot() {
+            return new CollapsedShape(table, SqlRenderCache.copyOf(keys), rows);
+        }
+    }
 }
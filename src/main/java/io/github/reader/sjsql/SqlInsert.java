@@ -5,10 +5,12 @@ import static io.github.reader.sjsql.result.ClassUtils.toSnakeCase;
 import io.github.reader.sjsql.result.ClassUtils;
 
 import java.lang.reflect.Field;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -21,6 +23,14 @@ public class SqlInsert {
     private final Map<String, List<Object>> columnValues;
     private boolean columnValuesUpdated = false;
     private List<?> dataset;
+    private int maxBindParams;
+    private int maxBytes;
+    private List<String> conflictKeys;
+    // null means all the columns except the keys
+    private List<String> updateColumns;
+    private Dialect dialect = Dialect.MYSQL;
+    // alias of the inserted row in ON DUPLICATE KEY UPDATE, null means VALUES(column)
+    private String rowAlias;
 
     private SqlInsert(String table) {
         this.table = table;
@@ -59,29 +69,236 @@ public class SqlInsert {
         return this;
     }
 
+    /**
+     * Render batch rows as multi-row {@code VALUES (...),(...)} statements, each statement has at most
+     * maxBindParams bind parameters.
+     */
+    public SqlInsert multiRow(int maxBindParams) {
+        return this.multiRow(maxBindParams, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Render batch rows as multi-row {@code VALUES (...),(...)} statements, each statement has at most
+     * maxBindParams bind parameters and about maxBytes of SQL text and parameter values.
+     */
+    public SqlInsert multiRow(int maxBindParams, int maxBytes) {
+        if (maxBindParams <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBindParams and maxBytes must be greater than 0");
+        }
+        this.maxBindParams = maxBindParams;
+        this.maxBytes = maxBytes;
+        return this;
+    }
+
+    /**
+     * Upsert, update the row of the same key instead of inserting it. All the columns except the key columns are
+     * updated.
+     */
+    public SqlInsert onConflict(String... keyColumns) {
+        return this.onConflict(List.of(keyColumns), null);
+    }
+
+    /**
+     * Upsert, update the updateColumns of the row of the same key instead of inserting it, null means all the
+     * columns except the key columns.
+     * <p>
+     * MySQL renders {@code ON DUPLICATE KEY UPDATE}, the conflict is of any unique key of the table. H2 renders
+     * {@code MERGE INTO ... KEY (...)}, which updates all the columns except the key columns.
+     */
+    public SqlInsert onConflict(List<String> keyColumns, List<String> updateColumns) {
+        if (keyColumns == null || keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("Key columns cannot be empty");
+        }
+        this.conflictKeys = List.copyOf(keyColumns);
+        this.updateColumns = updateColumns == null ? null : List.copyOf(updateColumns);
+        return this;
+    }
+
+    /**
+     * MySQL 8.0.19 and later, refer to the inserted row by the alias, {@code VALUES (...) AS new ON DUPLICATE KEY
+     * UPDATE name=new.name}, instead of {@code VALUES(name)} which is deprecated since MySQL 8.0.20. MariaDB only
+     * supports {@code VALUES(name)}, the default.
+     */
+    public SqlInsert rowAlias(String alias) {
+        if (alias == null || alias.isBlank()) {
+            throw new IllegalArgumentException("Row alias cannot be blank");
+        }
+        this.rowAlias = alias;
+        return this;
+    }
+
+    /**
+     * Dialect of the upsert statement, default MYSQL.
+     */
+    public SqlInsert dialect(Dialect dialect) {
+        this.dialect = Objects.requireNonNull(dialect, "dialect cannot be null");
+        return this;
+    }
+
+    /**
+     * Outcome of every row of the upsert, the connection reports found rows, the default of Connector/J.
+     *
+     * @see #upsertOutcomes(int[], boolean)
+     */
+    public List<UpsertOutcome> upsertOutcomes(int[] rowsAffected) {
+        return upsertOutcomes(rowsAffected, false);
+    }
+
+    /**
+     * Outcome of every row of the upsert, from the affected rows of the statements: of the rows in a batch of
+     * {@link #toSql()}, or of the statements of {@link #toSqlList()} in multi-row mode.
+     * <p>
+     * MySQL reports 1 for an inserted row and 2 for an updated row. An unchanged row is 1 when the connection reports
+     * found rows, so 1 is {@link UpsertOutcome#INSERTED_OR_UNCHANGED}, and 0 when it reports affected rows, e.g.
+     * {@code useAffectedRows=true} of Connector/J. H2 reports 1 for both, which is {@link UpsertOutcome#UPSERTED}. The
+     * outcome of a row of a multi-row statement is only known when all its rows have the same outcome.
+     *
+     * @param affectedRows whether the connection reports affected rows rather than found rows
+     */
+    public List<UpsertOutcome> upsertOutcomes(int[] rowsAffected, boolean affectedRows) {
+        if (!isUpsert()) {
+            throw new IllegalStateException("Not an upsert, see onConflict");
+        }
+        updateColumnValues();
+        List<int[]> chunks;
+        if (isMultiRow()) {
+            chunks = rowChunks();
+        } else {
+            int valueSize = this.dataset == null ? 1 : this.dataset.size();
+            chunks = new ArrayList<>(valueSize);
+            for (int i = 0; i < valueSize; i++) {
+                chunks.add(new int[]{i, 1});
+            }
+        }
+        if (rowsAffected.length != chunks.size()) {
+            throw new IllegalArgumentException(
+                "The number of affected rows " + rowsAffected.length + " does not match statements " + chunks.size());
+        }
+
+        List<UpsertOutcome> outcomes = new ArrayList<>();
+        for (int i = 0; i < rowsAffected.length; i++) {
+            UpsertOutcome outcome = upsertOutcome(rowsAffected[i], chunks.get(i)[1], affectedRows);
+            for (int row = 0; row < chunks.get(i)[1]; row++) {
+                outcomes.add(outcome);
+            }
+        }
+        return outcomes;
+    }
+
+    private UpsertOutcome upsertOutcome(int affected, int rows, boolean affectedRows) {
+        if (affected == Statement.SUCCESS_NO_INFO || affected < 0) {
+            return UpsertOutcome.UNKNOWN;
+        }
+        if (affected == 0) {
+            return UpsertOutcome.UNCHANGED;
+        }
+        if (dialect == Dialect.H2) {
+            return affected == rows ? UpsertOutcome.UPSERTED : UpsertOutcome.UNKNOWN;
+        }
+        if (affected == rows * 2) {
+            return UpsertOutcome.UPDATED;
+        }
+        if (!affectedRows) {
+            // every row reports at least 1, so all of them are 1
+            return affected == rows ? UpsertOutcome.INSERTED_OR_UNCHANGED : UpsertOutcome.UNKNOWN;
+        }
+        return rows == 1 && affected == 1 ? UpsertOutcome.INSERTED : UpsertOutcome.UNKNOWN;
+    }
+
+    /**
+     * Write the generated keys back into the entities, keys are in the order of the entities.
+     *
+     * @param fieldName field name of entity or key of map
+     */
+    public SqlInsert applyGeneratedKeys(String fieldName, List<?> keys) {
+        if (this.dataset == null) {
+            throw new IllegalStateException("No entities to apply generated keys");
+        }
+        if (keys.size() != this.dataset.size()) {
+            throw new IllegalArgumentException(
+                "The number of generated keys " + keys.size() + " does not match entities " + this.dataset.size());
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            Object entity = this.dataset.get(i);
+            try {
+                if (entity instanceof Map<?, ?> map) {
+                    putKey(map, fieldName, keys.get(i));
+                } else {
+                    ClassUtils.setFieldValue(entity, fieldName, keys.get(i));
+                }
+            } catch (Throwable e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return this;
+    }
+
+    // the map rows of a batch are Map<String, Object>, keyed by the columns
+    @SuppressWarnings("unchecked")
+    private static void putKey(Map<?, ?> map, String fieldName, Object key) {
+        ((Map<String, Object>) map).put(fieldName, key);
+    }
+
     public String toSql() {
+        if (isMultiRow()) {
+            List<String> sqls = toSqlList();
+            if (sqls.size() != 1) {
+                throw new IllegalStateException("The multi-row insert is split into " + sqls.size()
+                    + " statements, use toSqlList() or SimpleJdbcClient.insert(SqlInsert)");
+            }
+            return sqls.getFirst();
+        }
+
         updateColumnValues();
         List<String> columns = List.copyOf(columnValues.keySet());
         validateColumnValueSize(columns);
 
-        StringBuilder sql = new StringBuilder(80 + columns.toString().length() * 2);
-        sql.append(SqlKeywords.INSERT_INTO)
-           .append(table)
-           .append(" (")
-           .append(String.join(",", columns))
-           .append(")")
-           .append(SqlKeywords.VALUES)
-        ;
-        String[] placeholders = new String[columns.size()];
-        Arrays.fill(placeholders, "?");
-        String placeholderString = String.join(",", placeholders);
-        sql.append("(")
-           .append(placeholderString)
-           .append(")")
-           .append(";")
-        ;
+        return statementPrefix() + multiRowTuple() + upsertClause() + ";";
+    }
+
+    /**
+     * One statement per row, or one statement per chunk of rows in multi-row mode.
+     * The statements match {@link #batchParams()} by index.
+     */
+    public List<String> toSqlList() {
+        if (!isMultiRow()) {
+            return List.of(toSql());
+        }
+
+        updateColumnValues();
+        List<String> columns = List.copyOf(columnValues.keySet());
+        validateColumnValueSize(columns);
 
-        return sql.toString();
+        String prefix = statementPrefix();
+        String tuple = multiRowTuple();
+        String upsert = upsertClause();
+        List<String> sqls = new ArrayList<>();
+        for (int[] chunk : rowChunks()) {
+            StringBuilder sql = new StringBuilder(
+                prefix.length() + (tuple.length() + 1) * chunk[1] + upsert.length() + 1);
+            sql.append(prefix);
+            for (int i = 0; i < chunk[1]; i++) {
+                if (i > 0) {
+                    sql.append(",");
+                }
+                sql.append(tuple);
+            }
+            sqls.add(sql.append(upsert).append(";").toString());
+        }
+        return sqls;
+    }
+
+    /**
+     * The number of rows of every statement of {@link #toSqlList()}, 1 for each row out of multi-row mode.
+     */
+    public List<Integer> statementRows() {
+        updateColumnValues();
+        if (!isMultiRow()) {
+            int valueSize = this.dataset == null ? 1 : this.dataset.size();
+            return Collections.nCopies(valueSize, 1);
+        }
+        return rowChunks().stream().map(chunk -> chunk[1]).toList();
     }
 
     public Object[] params() {
@@ -100,12 +317,142 @@ public class SqlInsert {
             allParams.add(params);
         }
 
+        if (isMultiRow()) {
+            // flatten the rows of each statement
+            List<List<Object>> flattenParams = new ArrayList<>();
+            int columnSize = columnValues.size();
+            for (int[] chunk : rowChunks()) {
+                List<Object> params = new ArrayList<>(chunk[1] * columnSize);
+                for (int i = chunk[0]; i < chunk[0] + chunk[1]; i++) {
+                    params.addAll(allParams.get(i));
+                }
+                flattenParams.add(params);
+            }
+            allParams = flattenParams;
+        }
+
         // Object[][]
         return allParams.stream()
                         .map(List::toArray)
                         .toArray(Object[][]::new);
     }
 
+    private boolean isMultiRow() {
+        return this.maxBindParams > 0;
+    }
+
+    private boolean isUpsert() {
+        return this.conflictKeys != null;
+    }
+
+    private String statementPrefix() {
+        String columns = String.join(",", columnValues.keySet());
+        if (isUpsert() && dialect == Dialect.H2) {
+            return "MERGE INTO " + table + " (" + columns + ") KEY (" + String.join(",", conflictKeys) + ")"
+                + SqlKeywords.VALUES;
+        }
+        return SqlKeywords.INSERT_INTO + table + " (" + columns + ")" + SqlKeywords.VALUES;
+    }
+
+    /**
+     * the {@code ON DUPLICATE KEY UPDATE} clause of MySQL, empty for H2 and plain inserts.
+     */
+    private String upsertClause() {
+        if (!isUpsert()) {
+            return "";
+        }
+        Set<String> columns = columnValues.keySet();
+        for (String key : conflictKeys) {
+            if (!columns.contains(key)) {
+                throw new IllegalStateException("Key column " + key + " has no values");
+            }
+        }
+        List<String> updates = new ArrayList<>();
+        for (String column : columns) {
+            if (!conflictKeys.contains(column)) {
+                updates.add(column);
+            }
+        }
+        if (updateColumns != null) {
+            for (String column : updateColumns) {
+                if (!updates.contains(column)) {
+                    throw new IllegalStateException("Update column " + column + " is a key column or has no values");
+                }
+            }
+        }
+
+        return switch (dialect) {
+            case MYSQL -> {
+                List<String> sets = new ArrayList<>();
+                for (String column : updateColumns == null ? updates : updateColumns) {
+                    sets.add(rowAlias == null ? column + "=VALUES(" + column + ")" : column + "=" + rowAlias + "." + column);
+                }
+                if (sets.isEmpty()) {
+                    // keep the existing row
+                    sets.add(conflictKeys.getFirst() + "=" + conflictKeys.getFirst());
+                }
+                String alias = rowAlias == null ? "" : " AS " + rowAlias;
+                yield alias + " ON DUPLICATE KEY UPDATE " + String.join(",", sets);
+            }
+            case H2 -> {
+                if (updateColumns != null && !Set.copyOf(updateColumns).equals(Set.copyOf(updates))) {
+                    throw new IllegalStateException(
+                        "H2 MERGE updates all the columns except the keys, use Dialect.MYSQL in H2 MySQL mode");
+                }
+                yield "";
+            }
+            default -> throw new IllegalStateException("Upsert is not supported by dialect " + dialect);
+        };
+    }
+
+    private String multiRowTuple() {
+        String[] placeholders = new String[columnValues.size()];
+        Arrays.fill(placeholders, "?");
+        return "(" + String.join(",", placeholders) + ")";
+    }
+
+    /**
+     * split rows into statements by the bind parameter count and the byte budget.
+     *
+     * @return [first row index, row count] of each statement
+     */
+    private List<int[]> rowChunks() {
+        int valueSize = this.dataset == null ? 1 : this.dataset.size();
+        int maxRows = Math.max(1, this.maxBindParams / Math.max(1, columnValues.size()));
+        int prefixLength = statementPrefix().length() + upsertClause().length();
+        int tupleLength = multiRowTuple().length();
+        List<int[]> chunks = new ArrayList<>();
+        int start = 0;
+        long bytes = prefixLength;
+        for (int i = 0; i < valueSize; i++) {
+            long rowBytes = tupleLength + 1;
+            for (List<Object> values : columnValues.values()) {
+                rowBytes += estimateBytes(values.get(i));
+            }
+
+            int rows = i - start;
+            if (rows > 0 && (rows >= maxRows || bytes + rowBytes > this.maxBytes)) {
+                chunks.add(new int[]{start, rows});
+                start = i;
+                bytes = prefixLength;
+            }
+            bytes += rowBytes;
+        }
+        chunks.add(new int[]{start, valueSize - start});
+        return chunks;
+    }
+
+    private static int estimateBytes(Object value) {
+        return switch (value) {
+            case null -> 4;
+            case CharSequence chars -> chars.length() + 2;
+            case byte[] bytes -> bytes.length * 2 + 3;
+            case Number number -> 20;
+            case Boolean bool -> 5;
+            default -> 32;
+        };
+    }
+
     private void updateColumnValues() {
         if (this.dataset == null || this.columnValuesUpdated) {
             return;
@@ -188,4 +535,18 @@ public class SqlInsert {
         });
     }
 
+    public enum UpsertOutcome {
+        INSERTED,
+        UPDATED,
+        UNCHANGED,
+        /**
+         * inserted or updated, the database does not tell.
+         */
+        UPSERTED,
+        /**
+         * inserted or unchanged, the connection reports found rows.
+         */
+        INSERTED_OR_UNCHANGED,
+        UNKNOWN
+    }
 }
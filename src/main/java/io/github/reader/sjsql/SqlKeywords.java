@@ -63,23 +63,23 @@ public enum SqlKeywords {
         private static final String BETWEEN = "BETWEEN";
         private static final String LIKE = "LIKE";
 
-        private static final Map<String, Function<Op, String>> formatFunc = Map.of(
+        private static final Map<String, Function<Template, String>> formatFunc = Map.of(
             LIKE, op -> "LIKE ?",
             BETWEEN, op -> "BETWEEN ? AND ?",
             IS_NULL, op -> IS_NULL,
             IS_NOT_NULL, op -> IS_NOT_NULL,
             IN, op -> {
-                if (op.sqlSelect != null) {
-                    return "IN (" + op.sqlSelect.toSql() + ")";
+                if (op.subSql() != null) {
+                    return "IN (" + op.subSql() + ")";
                 }
-                String logicalType = op.reverse ? NOT_IN : IN;
+                String logicalType = op.reverse() ? NOT_IN : IN;
                 return parametrizeList(op, logicalType);
             },
             NOT_IN, op -> {
-                if (op.sqlSelect != null) {
-                    return "NOT IN (" + op.sqlSelect.toSql() + ")";
+                if (op.subSql() != null) {
+                    return "NOT IN (" + op.subSql() + ")";
                 }
-                String logicalType = op.reverse ? IN : NOT_IN;
+                String logicalType = op.reverse() ? IN : NOT_IN;
                 return parametrizeList(op, logicalType);
             }
         );
@@ -191,25 +191,66 @@ public enum SqlKeywords {
         }
 
         public String format(String column) {
-            final Function<Op, String> function = formatFunc.get(this.sign);
-            if (function != null) {
-                return column + " " + function.apply(this);
-            }
+            return template().format(column);
+        }
+
+        /**
+         * everything of the op that the sql depends on, the params excluded.
+         */
+        Template template() {
+            return template(null);
+        }
 
-            return column + sign + "?";
+        /**
+         * @param inListPadding the padding of the IN list, null for none
+         */
+        Template template(InListPadding inListPadding) {
+            if (this.sqlSelect != null) {
+                return new Template(sign, reverse, -1, sqlSelect.toSql());
+            }
+            if ((IN.equals(sign) || NOT_IN.equals(sign)) && this.param instanceof List<?> list) {
+                int size = inListPadding == null ? list.size() : inListPadding.paddedSize(list.size());
+                return new Template(sign, reverse, size, null);
+            }
+            return new Template(sign, reverse, -1, null);
         }
 
         public Object getParam() {
             return param;
         }
 
-        private static String parametrizeList(Op op, String opt) {
-            int size = ((List<?>) op.param).size();
-            String[] params = new String[size];
+        /**
+         * the sub query of IN and NOT IN, null for others.
+         */
+        SqlSelect subSelect() {
+            return sqlSelect;
+        }
+
+        private static String parametrizeList(Template op, String opt) {
+            if (op.size() < 0) {
+                throw new IllegalArgumentException(opt + " requires a list param");
+            }
+            String[] params = new String[op.size()];
             Arrays.fill(params, "?");
             final String parametrization = String.join(",", params);
             return opt + " (" + parametrization + ")";
         }
+
+        /**
+         * @param size   size of the IN list, -1 for others
+         * @param subSql sql of the sub query
+         */
+        record Template(String sign, boolean reverse, int size, String subSql) {
+
+            String format(String column) {
+                final Function<Template, String> function = formatFunc.get(this.sign);
+                if (function != null) {
+                    return column + " " + function.apply(this);
+                }
+
+                return column + sign + "?";
+            }
+        }
     }
 
 }
@@ -0,0 +1,115 @@
+package io.github.reader.sjsql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Rendered sql text by statement shape, statements of the same shape have the same sql and differ only in params.
+ * <p>
+ * The least recently used shapes are evicted, the cache is split in segments by the shape hash so the lookups of
+ * different shapes rarely wait for each other. The size is set by the system property {@code sjsql.renderCacheSize},
+ * 2048 shapes by default, 0 disables the cache.
+ */
+final class SqlRenderCache {
+
+    private static final int MAX_CACHE_SIZE = Math.max(0, Integer.getInteger("sjsql.renderCacheSize", 2048));
+    private static final int SEGMENTS = 16;
+    private static final List<Map<Shape, String>> segments = createSegments();
+
+    private SqlRenderCache() {
+    }
+
+    /**
+     * @param shape    the shape of the statement, it may hold the mutable lists of the builder
+     * @param renderer render the sql when the shape is not cached
+     */
+    static String get(Shape shape, Supplier<String> renderer) {
+        if (MAX_CACHE_SIZE == 0) {
+            return renderer.get();
+        }
+        Map<Shape, String> segment = segmentOf(shape);
+        String sql;
+        synchronized (segment) {
+            sql = segment.get(shape);
+        }
+        if (sql == null) {
+            sql = renderer.get();
+            Shape key = shape.snapshot();
+            synchronized (segment) {
+                String cached = segment.putIfAbsent(key, sql);
+                if (cached != null) {
+                    sql = cached;
+                }
+            }
+        }
+        return sql;
+    }
+
+    /**
+     * the number of cached shapes.
+     */
+    static int size() {
+        int size = 0;
+        for (Map<Shape, String> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * drop the cached shapes.
+     */
+    static void clear() {
+        for (Map<Shape, String> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private static Map<Shape, String> segmentOf(Shape shape) {
+        int hash = shape.hashCode();
+        return segments.get((hash ^ (hash >>> 16)) & (SEGMENTS - 1));
+    }
+
+    /**
+     * access ordered segments, each guarded by itself.
+     */
+    private static List<Map<Shape, String>> createSegments() {
+        int capacity = (MAX_CACHE_SIZE + SEGMENTS - 1) / SEGMENTS;
+        List<Map<Shape, String>> created = new ArrayList<>(SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            created.add(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Shape, String> eldest) {
+                    return size() > capacity;
+                }
+            });
+        }
+        return List.copyOf(created);
+    }
+
+    /**
+     * immutable copy of the tokens, null elements allowed unlike {@link List#copyOf}.
+     */
+    static <E> List<E> copyOf(List<E> tokens) {
+        return Collections.unmodifiableList(new ArrayList<>(tokens));
+    }
+
+    /**
+     * cache key, it should be a record of immutable tokens after {@link #snapshot()}.
+     */
+    interface Shape {
+
+        /**
+         * immutable copy of the shape, stored as the cache key.
+         */
+        Shape snapshot();
+    }
+}
@@ -1,24 +1,34 @@
 package io.github.reader.sjsql;
 
 import io.github.reader.sjsql.SqlKeywords.Op;
+import io.github.reader.sjsql.result.ClassUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 public class SqlSelect {
 
     private final String table;
     private final List<String> columns;
     private final List<String> summaryColumns;
-    private final StringBuilder joinBuilder;
+    private final List<Join> joins;
     private final List<UnionTable> unionTables;
     private final List<Object> joinParams;
-    private StringBuilder groupByBuilder;
-    private StringBuilder orderByBuilder;
+    private final Set<String> tables;
+    private final List<String> groupBy;
+    private final List<Order> orderBy;
     private String limit = "";
+    private int limitOffset;
+    private int limitRows = -1;
+    private List<String> keysetColumns = List.of();
+    private boolean keysetDescending;
+    private Object[] seekValues;
 
     public final SqlCondition<SqlSelect> where;
     public final SqlCondition<SqlSelect> having;
@@ -27,13 +37,15 @@ public class SqlSelect {
         this.table = table;
         this.columns = new ArrayList<>();
         this.summaryColumns = new ArrayList<>();
-        this.joinBuilder = new StringBuilder(100);
+        this.joins = new ArrayList<>();
         this.unionTables = new ArrayList<>();
         this.joinParams = new ArrayList<>();
+        this.tables = new LinkedHashSet<>();
+        addTable(table);
         this.where = SqlCondition.create(this);
-        this.groupByBuilder = new StringBuilder(50);
+        this.groupBy = new ArrayList<>();
         this.having = SqlCondition.create(this);
-        this.orderByBuilder = new StringBuilder(50);
+        this.orderBy = new ArrayList<>();
     }
 
     public static SqlSelect from(String table) {
@@ -143,19 +155,13 @@ public class SqlSelect {
         String joinOp,
         String leftOn,
         String rightOn) {
-        this.joinBuilder
-            .append(joinType)
-            .append(table)
-            .append(" ")
-            .append(alias)
-            .append(SqlKeywords.ON)
-            .append(leftOn)
-            .append(joinOp)
-            .append(rightOn);
+        this.joins.add(new Join(joinType, table, alias, joinOp, leftOn, rightOn));
+        addTable(table);
     }
 
     public SqlSelect union(String table, String alias) {
         this.unionTables.add(new UnionTable(SqlKeywords.UNION.toString(), joinTableAlias(table, alias)));
+        addTable(table);
         return this;
     }
 
@@ -166,6 +172,7 @@ public class SqlSelect {
 
     public SqlSelect unionAll(String table, String alias) {
         this.unionTables.add(new UnionTable(SqlKeywords.UNION_ALL.toString(), joinTableAlias(table, alias)));
+        addTable(table);
         return this;
     }
 
@@ -176,6 +183,33 @@ public class SqlSelect {
 
     private void appendSubTableParams(SqlSelect subTable) {
         this.joinParams.addAll(Arrays.asList(subTable.params()));
+        this.tables.addAll(subTable.tables());
+    }
+
+    private void addTable(String table) {
+        String tableName = SqlTables.tableName(table);
+        if (tableName != null) {
+            this.tables.add(tableName);
+        }
+    }
+
+    /**
+     * the lower case names of the tables read by the select, including joins, unions and sub queries.
+     */
+    public Set<String> tables() {
+        Set<String> allTables = new LinkedHashSet<>(this.tables);
+        allTables.addAll(this.where.tables());
+        allTables.addAll(this.having.tables());
+        return allTables;
+    }
+
+    /**
+     * pad the IN lists of the conditions added afterwards, null for none, see {@link InListPadding}.
+     */
+    public SqlSelect inListPadding(InListPadding inListPadding) {
+        this.where.inListPadding(inListPadding);
+        this.having.inListPadding(inListPadding);
+        return this;
     }
 
     public SqlSelect where(String column, Op op) {
@@ -199,22 +233,13 @@ public class SqlSelect {
             return this;
         }
 
-        if (!this.groupByBuilder.isEmpty()) {
-            this.groupByBuilder.append(",");
-        }
-
-        this.groupByBuilder.append(String.join(",", cols));
+        this.groupBy.addAll(Arrays.asList(cols));
         return this;
     }
 
     public SqlSelect regroupBy(String... cols) {
-        this.groupByBuilder = new StringBuilder();
-        if (cols == null || cols.length == 0) {
-            return this;
-        }
-
-        this.groupByBuilder.append(String.join(",", cols));
-        return this;
+        this.groupBy.clear();
+        return groupBy(cols);
     }
 
     public SqlSelect having(String column, Op op) {
@@ -236,15 +261,7 @@ public class SqlSelect {
             return this;
         }
 
-        if (!this.orderByBuilder.isEmpty()) {
-            this.orderByBuilder.append(",");
-        }
-
-        this.orderByBuilder.append(column);
-        if (!ascending) {
-            this.orderByBuilder.append(SqlKeywords.DESC);
-        }
-
+        this.orderBy.add(new Order(column, ascending));
         return this;
     }
 
@@ -253,7 +270,7 @@ public class SqlSelect {
     }
 
     public SqlSelect reorderBy(String by, boolean ascending) {
-        this.orderByBuilder = new StringBuilder();
+        this.orderBy.clear();
         return orderBy(by, ascending);
     }
 
@@ -263,22 +280,128 @@ public class SqlSelect {
 
     public SqlSelect limit(int offset, int limit) {
         this.limit = offset + ", " + limit;
+        this.limitOffset = offset;
+        this.limitRows = limit;
+        return this;
+    }
+
+    /**
+     * Keyset pagination ordered by the key columns ascending, the key columns must identify a row.
+     * <p>
+     * The key columns are the ORDER BY, so it cannot be used with {@link #orderBy(String)}, and every page seeks after
+     * the previous one, so the offset of {@link #limit(int, int)} must be 0. The seek predicate is not part of
+     * {@link #totalRowSql()} and {@link #summarySql()}, see {@link #countParams()}.
+     */
+    public SqlSelect keyset(String... columns) {
+        return keyset(true, columns);
+    }
+
+    public SqlSelect keyset(boolean ascending, String... columns) {
+        if (columns == null || columns.length == 0) {
+            throw new IllegalArgumentException("keyset columns cannot be empty");
+        }
+        this.keysetColumns = List.of(columns);
+        this.keysetDescending = !ascending;
+        return this;
+    }
+
+    /**
+     * Seek the rows after the key values of the last row of the previous page, null or empty for the first page.
+     * e.g. {@code WHERE (create_time,id) > (?,?) ORDER BY create_time,id}
+     */
+    public SqlSelect seekAfter(Object... values) {
+        if (this.keysetColumns.isEmpty()) {
+            throw new IllegalStateException("keyset columns are not declared");
+        }
+        if (values == null || values.length == 0) {
+            this.seekValues = null;
+            return this;
+        }
+        if (values.length != this.keysetColumns.size()) {
+            throw new IllegalArgumentException(
+                "seek values size " + values.length + " not match keyset columns " + this.keysetColumns);
+        }
+        this.seekValues = values.clone();
         return this;
     }
 
+    /**
+     * The page of the rows queried by this keyset select, the next key is taken from the last row when the page is
+     * full.
+     */
+    public <T> KeysetPage<T> keysetPage(List<T> rows) {
+        if (this.keysetColumns.isEmpty()) {
+            throw new IllegalStateException("keyset columns are not declared");
+        }
+        if (rows.isEmpty() || this.limitRows <= 0 || rows.size() < this.limitRows) {
+            return new KeysetPage<>(rows, null);
+        }
+
+        Object lastRow = rows.getLast();
+        Object[] nextKey = new Object[this.keysetColumns.size()];
+        for (int i = 0; i < nextKey.length; i++) {
+            nextKey[i] = keyValue(lastRow, this.keysetColumns.get(i));
+        }
+        return new KeysetPage<>(rows, nextKey);
+    }
+
+    private static Object keyValue(Object row, String column) {
+        String label = column.substring(column.lastIndexOf('.') + 1);
+        if (row instanceof Map<?, ?> map) {
+            if (map.containsKey(label)) {
+                return map.get(label);
+            }
+            return map.entrySet().stream()
+                      .filter(e -> label.equalsIgnoreCase(String.valueOf(e.getKey())))
+                      .map(Map.Entry::getValue)
+                      .findFirst()
+                      .orElseThrow(() -> new IllegalArgumentException("keyset column not found in row: " + column));
+        }
+        if (ClassUtils.isSimpleType(row.getClass())) {
+            return row;
+        }
+        try {
+            return ClassUtils.getFieldValue(row, label);
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("keyset column not found in row: " + column, e);
+        }
+    }
+
     public String toSql() {
+        String sql = SqlRenderCache.get(new RenderKey("toSql", shape(), List.of()), this::renderSql);
+        if (this.limit.isBlank() || !this.unionTables.isEmpty()) {
+            return sql;
+        }
+        // the offset and limit are not cached, every page would be a shape
+        return sql + limitSql();
+    }
+
+    /**
+     * the sql of the page at offset, the limit of the select is not changed.
+     *
+     * @throws IllegalStateException for a union, page a select from it as a sub query
+     */
+    public String pageSql(int offset, int limit) {
+        if (!this.unionTables.isEmpty()) {
+            throw new IllegalStateException("A union cannot be paged, select from it as a sub query");
+        }
+        String sql = SqlRenderCache.get(new RenderKey("toSql", shape(), List.of()), this::renderSql);
+        checkKeysetOffset(offset);
+        return sql + SqlKeywords.LIMIT + offset + ", " + limit;
+    }
+
+    private String renderSql() {
         List<String> finalColumns = allColumns();
         String columnsSql = finalColumns.isEmpty() ? "*" : String.join(",", finalColumns);
 
         StringBuilder result = new StringBuilder(300 + columnsSql.length());
         result.append(selectFromTableSql(this.table, columnsSql));
         if (this.unionTables.isEmpty()) {
-            return result.append(this.joinBuilder)
-                         .append(whereSql())
+            return result.append(joinSql())
+                         .append(whereSql(true))
                          .append(groupBySql())
                          .append(havingSql())
                          .append(orderBySql())
-                         .append(limitSql())
                          .toString();
         }
 
@@ -290,10 +413,24 @@ public class SqlSelect {
     }
 
     public Object[] params() {
+        return params(true);
+    }
+
+    /**
+     * the params of {@link #totalRowSql()} and {@link #summarySql()}, the seek values of a keyset select excluded.
+     */
+    public Object[] countParams() {
+        return params(false);
+    }
+
+    private Object[] params(boolean seek) {
         List<Object> params = new ArrayList<>();
         // Note: add params in order.
         params.addAll(this.joinParams);
         params.addAll(this.where.params());
+        if (seek && this.seekValues != null) {
+            params.addAll(Arrays.asList(this.seekValues));
+        }
         params.addAll(this.having.params());
 
         return params.toArray();
@@ -304,6 +441,11 @@ public class SqlSelect {
     }
 
     public String summarySql(List<String> finalSummaryColumns) {
+        return SqlRenderCache.get(new RenderKey("summarySql", shape(), finalSummaryColumns),
+            () -> renderSummarySql(finalSummaryColumns));
+    }
+
+    private String renderSummarySql(List<String> finalSummaryColumns) {
         if (this.summaryColumns.isEmpty()) {
             throw new IllegalArgumentException("[sqlSelect.summaryColumns] is empty");
         }
@@ -311,8 +453,8 @@ public class SqlSelect {
         if (this.having.isBlank()) {
             String summaryColumnsSql = String.join(",", this.summaryColumns);
             return selectFromTableSql(this.table, summaryColumnsSql)
-                + this.joinBuilder
-                + whereSql()
+                + joinSql()
+                + whereSql(false)
                 + SqlKeywords.LIMIT + " 1 ";
         }
 
@@ -320,14 +462,14 @@ public class SqlSelect {
             throw new IllegalArgumentException("finalSummaryColumns is empty");
         }
 
-        if (this.groupByBuilder.isEmpty()) {
+        if (groupBySql().isEmpty()) {
             throw new IllegalArgumentException(
                 "In aggregated query without GROUP BY, The having statement has to use with group by statement");
         }
 
         final String sql = selectFromTableSql(this.table, String.join(",", this.summaryColumns))
-            + this.joinBuilder
-            + whereSql()
+            + joinSql()
+            + whereSql(false)
             + groupBySql()
             + havingSql();
 
@@ -337,13 +479,17 @@ public class SqlSelect {
     }
 
     public String totalRowSql() {
+        return SqlRenderCache.get(new RenderKey("totalRowSql", shape(), List.of()), this::renderTotalRowSql);
+    }
+
+    private String renderTotalRowSql() {
         String cols = "count(*)";
-        if (!this.groupByBuilder.isEmpty() || !this.having.toSql().isEmpty()) {
-            String sql = selectSql() + exceptSelectSql();
+        if (!groupBySql().isEmpty() || !this.having.toSql().isEmpty()) {
+            String sql = selectSql() + exceptSelectSql(false);
             return SqlKeywords.SELECT + cols + SqlKeywords.FROM + "(" + sql + ") t0";
         }
 
-        return SqlKeywords.SELECT + cols + exceptSelectSql();
+        return SqlKeywords.SELECT + cols + exceptSelectSql(false);
     }
 
     public String selectSql() {
@@ -352,7 +498,7 @@ public class SqlSelect {
         return SqlKeywords.SELECT + columnsSql;
     }
 
-    private String exceptSelectSql() {
+    private String exceptSelectSql(boolean seek) {
         StringBuilder result = new StringBuilder();
         result.append(SqlKeywords.FROM)
               .append(this.table);
@@ -361,8 +507,8 @@ public class SqlSelect {
             return result.toString();
         }
 
-        return result.append(this.joinBuilder)
-                     .append(whereSql())
+        return result.append(joinSql())
+                     .append(whereSql(seek))
                      .append(groupBySql())
                      .append(havingSql())
                      .toString();
@@ -382,21 +528,63 @@ public class SqlSelect {
         return finalColumns;
     }
 
-    private String whereSql() {
+    private String joinSql() {
+        if (this.joins.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder result = new StringBuilder(100);
+        for (Join join : this.joins) {
+            result.append(join.joinType())
+                  .append(join.table())
+                  .append(" ")
+                  .append(join.alias())
+                  .append(SqlKeywords.ON)
+                  .append(join.leftOn())
+                  .append(join.joinOp())
+                  .append(join.rightOn());
+        }
+        return result.toString();
+    }
+
+    private String whereSql(boolean seek) {
         String sqlCondWhere = this.where.toSql();
+        String seekSql = seek ? seekSql() : "";
+        if (seekSql.isEmpty()) {
+            if (sqlCondWhere.isEmpty()) {
+                return "";
+            }
+            return SqlKeywords.WHERE + sqlCondWhere;
+        }
+
         if (sqlCondWhere.isEmpty()) {
+            return SqlKeywords.WHERE + seekSql;
+        }
+        return SqlKeywords.WHERE + "(" + sqlCondWhere + ")" + SqlKeywords.AND + seekSql;
+    }
+
+    private String seekSql() {
+        if (this.seekValues == null) {
             return "";
         }
 
-        return SqlKeywords.WHERE + sqlCondWhere;
+        String op = this.keysetDescending ? "<" : ">";
+        if (this.keysetColumns.size() == 1) {
+            return this.keysetColumns.getFirst() + op + "?";
+        }
+
+        String[] placeholders = new String[this.keysetColumns.size()];
+        Arrays.fill(placeholders, "?");
+        return "(" + String.join(",", this.keysetColumns) + ")" + op + "(" + String.join(",", placeholders) + ")";
     }
 
     private String groupBySql() {
-        if (this.groupByBuilder.isEmpty()) {
+        String groupBySql = String.join(",", this.groupBy);
+        if (groupBySql.isEmpty()) {
             return "";
         }
 
-        return SqlKeywords.GROUP_BY.toString() + this.groupByBuilder;
+        return SqlKeywords.GROUP_BY + groupBySql;
     }
 
     private String havingSql() {
@@ -408,19 +596,52 @@ public class SqlSelect {
     }
 
     private String orderBySql() {
-        if (this.orderByBuilder.isEmpty()) {
+        if (!this.keysetColumns.isEmpty()) {
+            if (!this.orderBy.isEmpty()) {
+                throw new IllegalStateException("keyset pagination is ordered by the keyset columns, remove orderBy");
+            }
+
+            StringBuilder result = new StringBuilder(50);
+            for (String column : this.keysetColumns) {
+                result.append(result.isEmpty() ? "" : ",").append(column);
+                if (this.keysetDescending) {
+                    result.append(SqlKeywords.DESC);
+                }
+            }
+            return SqlKeywords.ORDER_BY.toString() + result;
+        }
+
+        if (this.orderBy.isEmpty()) {
             return "";
         }
-        return SqlKeywords.ORDER_BY.toString() + this.orderByBuilder;
+
+        StringBuilder result = new StringBuilder(50);
+        for (Order order : this.orderBy) {
+            if (!result.isEmpty()) {
+                result.append(",");
+            }
+            result.append(order.column());
+            if (!order.ascending()) {
+                result.append(SqlKeywords.DESC);
+            }
+        }
+        return SqlKeywords.ORDER_BY.toString() + result;
     }
 
     public String limitSql() {
         if (this.limit.isBlank()) {
             return "";
         }
+        checkKeysetOffset(this.limitOffset);
         return SqlKeywords.LIMIT + this.limit;
     }
 
+    private void checkKeysetOffset(int offset) {
+        if (offset != 0 && !this.keysetColumns.isEmpty()) {
+            throw new IllegalStateException("keyset pagination seeks after the previous page, the offset must be 0");
+        }
+    }
+
     private static String wrapSubSql(String sql) {
         return "(" + sql + ")";
     }
@@ -429,8 +650,50 @@ public class SqlSelect {
         return SqlKeywords.AS + alias;
     }
 
+    /**
+     * everything that the sql depends on, the params and the limit excluded.
+     */
+    private Shape shape() {
+        return new Shape(this.table, this.columns, this.summaryColumns, this.joins, this.unionTables,
+            this.where.parts(), this.groupBy, this.having.parts(), this.orderBy, this.keysetColumns,
+            this.keysetDescending, this.seekValues != null);
+    }
+
     record UnionTable(String type, String table) {
 
 
     }
+
+    private record Join(String joinType, String table, String alias, String joinOp, String leftOn,
+                        String rightOn) {
+
+    }
+
+    private record Order(String column, boolean ascending) {
+
+    }
+
+    private record Shape(String table, List<String> columns, List<String> summaryColumns, List<Join> joins,
+                         List<UnionTable> unionTables, List<SqlCondition.Part> where, List<String> groupBy,
+                         List<SqlCondition.Part> having, List<Order> orderBy,
+                         List<String> keysetColumns, boolean keysetDescending, boolean seek) {
+
+        Shape snapshot() {
+            return new Shape(table, SqlRenderCache.copyOf(columns), SqlRenderCache.copyOf(summaryColumns),
+                SqlRenderCache.copyOf(joins), SqlRenderCache.copyOf(unionTables), SqlRenderCache.copyOf(where),
+                SqlRenderCache.copyOf(groupBy), SqlRenderCache.copyOf(having), SqlRenderCache.copyOf(orderBy),
+                keysetColumns, keysetDescending, seek);
+        }
+    }
+
+    /**
+     * cache key of the rendered sql, statement is the render method.
+     */
+    private record RenderKey(String statement, Shape shape, List<String> args) implements SqlRenderCache.Shape {
+
+        @Override
+        public RenderKey snapshot() {
+            return new RenderKey(statement, shape.snapshot(), SqlRenderCache.copyOf(args));
+        }
+    }
 }
@@ -0,0 +1,98 @@
+package io.github.reader.sjsql;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Table names of sql statements, used to tag and invalidate cached query results.
+ */
+public final class SqlTables {
+
+    private static final Pattern LOAD_INTO_TABLE = Pattern.compile("\\sINTO\\s+TABLE\\s+(\\S+)",
+        Pattern.CASE_INSENSITIVE);
+
+    private SqlTables() {
+    }
+
+    /**
+     * normalized table name of a table reference, e.g. {@code `db`.`Account` a} is {@code account}.
+     *
+     * @return null for sub queries
+     */
+    public static String tableName(String table) {
+        if (table == null) {
+            return null;
+        }
+        String name = table.strip();
+        if (name.isEmpty() || name.startsWith("(")) {
+            return null;
+        }
+
+        int end = 0;
+        while (end < name.length() && !Character.isWhitespace(name.charAt(end)) && name.charAt(end) != '('
+            && name.charAt(end) != ';') {
+            end++;
+        }
+        name = name.substring(0, end);
+        name = name.substring(name.lastIndexOf('.') + 1);
+        return name.replace("`", "").replace("\"", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * the table modified by an INSERT, REPLACE, UPDATE, DELETE, MERGE, TRUNCATE or LOAD DATA statement.
+     *
+     * @return null when the statement does not modify a table or the table is unknown
+     */
+    public static String modifiedTable(String sql) {
+        String[] tokens = sql.strip().split("[\\s(]+", 6);
+        if (tokens.length < 2) {
+            return null;
+        }
+
+        String keyword = tokens[0].toUpperCase(Locale.ROOT);
+        return switch (keyword) {
+            case "INSERT", "REPLACE", "MERGE" -> tableAfter(tokens, "INTO");
+            case "DELETE" -> tableAfter(tokens, "FROM");
+            case "UPDATE" -> tableName(skipModifiers(tokens, 1));
+            case "TRUNCATE" -> tableName("TABLE".equalsIgnoreCase(tokens[1]) && tokens.length > 2
+                ? tokens[2] : tokens[1]);
+            case "LOAD" -> {
+                Matcher matcher = LOAD_INTO_TABLE.matcher(sql);
+                yield matcher.find() ? tableName(matcher.group(1)) : null;
+            }
+            default -> null;
+        };
+    }
+
+    /**
+     * whether the statement only reads, e.g. SELECT, WITH, SHOW or EXPLAIN.
+     */
+    public static boolean isQuery(String sql) {
+        String statement = sql.stripLeading();
+        return startsWithIgnoreCase(statement, "SELECT") || startsWithIgnoreCase(statement, "WITH")
+            || startsWithIgnoreCase(statement, "SHOW") || startsWithIgnoreCase(statement, "EXPLAIN");
+    }
+
+    private static String tableAfter(String[] tokens, String keyword) {
+        for (int i = 1; i < tokens.length - 1; i++) {
+            if (keyword.equalsIgnoreCase(tokens[i])) {
+                return tableName(tokens[i + 1]);
+            }
+        }
+        return null;
+    }
+
+    private static String skipModifiers(String[] tokens, int from) {
+        int i = from;
+        while (i < tokens.length - 1
+            && ("LOW_PRIORITY".equalsIgnoreCase(tokens[i]) || "IGNORE".equalsIgnoreCase(tokens[i]))) {
+            i++;
+        }
+        return tokens[i];
+    }
+
+    private static boolean startsWithIgnoreCase(String value, String prefix) {
+        return value.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+}
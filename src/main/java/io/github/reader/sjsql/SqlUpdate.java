@@ -4,11 +4,13 @@ import io.github.reader.sjsql.SqlKeywords.Op;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class SqlUpdate {
@@ -18,6 +20,9 @@ public class SqlUpdate {
     private boolean agree_without_where_clause = false;
     private boolean refValueReplaced = false;
     private List<?> dataset;
+    // columns set to a RefValue, the value differs by entity
+    private final Set<String> refColumns = new HashSet<>();
+    private int collapseRows;
 
     public final SqlCondition<SqlUpdate> where;
 
@@ -64,6 +69,11 @@ public class SqlUpdate {
         }
 
         this.columnValues.put(column, refValues);
+        if (RefValue.isRef(value)) {
+            this.refColumns.add(column);
+        } else {
+            this.refColumns.remove(column);
+        }
         return this;
     }
 
@@ -71,11 +81,43 @@ public class SqlUpdate {
         return this.set(column, RefValue.ref(column));
     }
 
+    /**
+     * pad the IN lists of the conditions added afterwards, null for none, see {@link InListPadding}.
+     */
+    public SqlUpdate inListPadding(InListPadding inListPadding) {
+        this.where.inListPadding(inListPadding);
+        return this;
+    }
+
     public SqlUpdate where(String column, Op op) {
         this.where.and(column, op);
         return this;
     }
 
+    /**
+     * Collapse the batch into statements of at most maxRows rows, for the batch keyed by one column, e.g.
+     * {@code where("id", Op.eq(RefValue.ref("id")))}:
+     * {@code UPDATE t SET c=CASE id WHEN ? THEN ? ... ELSE c END WHERE id IN (?,...)}.
+     * <p>
+     * The columns set to a RefValue are CASE expressions, the other columns are set once. Every statement has the
+     * same number of rows, the last one repeats its last row, so {@link #toSql()} runs with the rows of
+     * {@link #batchParams()} as one JDBC batch, whose affected rows are one per statement rather than per entity.
+     * The entities of the same key are collapsed into the last one, which wins like in the batch of row statements.
+     * <p>
+     * The database matches every row against the WHEN list of its CASE, so a statement costs about maxRows x maxRows
+     * comparisons, keep maxRows in the hundreds.
+     */
+    public SqlUpdate collapse(int maxRows) {
+        if (maxRows <= 0) {
+            throw new IllegalArgumentException("maxRows must be greater than 0");
+        }
+        if (this.dataset == null) {
+            throw new IllegalStateException("Only the batch of entities can be collapsed");
+        }
+        this.collapseRows = maxRows;
+        return this;
+    }
+
     public String toSql() {
         if (this.where.isBlank() && !this.agree_without_where_clause) {
             throw new IllegalStateException("[WARN] The update statement is without where clause");
@@ -85,6 +127,18 @@ public class SqlUpdate {
         List<String> columns = new ArrayList<>(columnValues.keySet());
         validateColumnValueSize(columns);
 
+        if (isCollapsed()) {
+            String key = collapseKey();
+            int rows = statementRows(collapsedRows(whereParams()).size());
+            List<String> caseColumns = columns.stream().filter(refColumns::contains).toList();
+            return SqlRenderCache.get(new CollapsedShape(this.table, columns, caseColumns, key, rows),
+                () -> renderCollapsedSql(columns, key, rows));
+        }
+
+        return SqlRenderCache.get(new Shape(this.table, columns, this.where.parts()), () -> renderSql(columns));
+    }
+
+    private String renderSql(List<String> columns) {
         StringBuilder sql = new StringBuilder(80 + columns.toString().length());
         sql.append(SqlKeywords.UPDATE)
            .append(this.table)
@@ -104,12 +158,50 @@ public class SqlUpdate {
         return sql.toString();
     }
 
+    /**
+     * {@code c=CASE key WHEN ? THEN ? ... ELSE c END} of the RefValue columns, the ELSE keeps the rows that match
+     * IN but none of the WHEN, e.g. by type conversion.
+     */
+    private String renderCollapsedSql(List<String> columns, String key, int rows) {
+        StringBuilder sql = new StringBuilder(80 + columns.size() * (32 + rows * 16) + rows * 2);
+        sql.append(SqlKeywords.UPDATE)
+           .append(this.table)
+           .append(SqlKeywords.SET);
+        for (int c = 0; c < columns.size(); c++) {
+            String column = columns.get(c);
+            if (c > 0) {
+                sql.append(',');
+            }
+            if (!refColumns.contains(column)) {
+                sql.append(column).append("=?");
+                continue;
+            }
+            sql.append(column).append("=CASE ").append(key);
+            for (int i = 0; i < rows; i++) {
+                sql.append(" WHEN ? THEN ?");
+            }
+            sql.append(" ELSE ").append(column).append(" END");
+        }
+
+        sql.append(SqlKeywords.WHERE)
+           .append(key)
+           .append(" IN (");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "?" : ",?");
+        }
+        sql.append(");");
+        return sql.toString();
+    }
+
     public Object[] params() {
         return batchParams()[0];
     }
 
     public Object[][] batchParams() {
         updateColumnValues();
+        if (isCollapsed()) {
+            return collapsedParams();
+        }
         List<List<Object>> whereParams = whereParams();
         List<List<Object>> finalParams = new ArrayList<>();
         int valueSize = columnValues.values().stream().findFirst().orElse(List.of()).size();
@@ -130,6 +222,65 @@ public class SqlUpdate {
                           .toArray(Object[][]::new);
     }
 
+    private Object[][] collapsedParams() {
+        collapseKey();
+        List<List<Object>> whereParams = whereParams();
+        List<Integer> keyRows = collapsedRows(whereParams);
+        int valueSize = keyRows.size();
+        int rows = statementRows(valueSize);
+        Object[][] batchParams = new Object[(valueSize + rows - 1) / rows][];
+        for (int s = 0; s < batchParams.length; s++) {
+            int from = s * rows;
+            List<Object> params = new ArrayList<>();
+            for (Entry<String, List<Object>> entry : columnValues.entrySet()) {
+                List<Object> values = entry.getValue();
+                if (!refColumns.contains(entry.getKey())) {
+                    params.add(values.get(keyRows.get(from)));
+                    continue;
+                }
+                for (int r = 0; r < rows; r++) {
+                    // the last statement repeats its last row
+                    int row = keyRows.get(Math.min(from + r, valueSize - 1));
+                    params.add(whereParams.get(row).getFirst());
+                    params.add(values.get(row));
+                }
+            }
+            for (int r = 0; r < rows; r++) {
+                params.add(whereParams.get(keyRows.get(Math.min(from + r, valueSize - 1))).getFirst());
+            }
+            batchParams[s] = params.toArray();
+        }
+        return batchParams;
+    }
+
+    /**
+     * the row of every key, the last row of a key wins like in the batch of row statements.
+     */
+    private static List<Integer> collapsedRows(List<List<Object>> whereParams) {
+        Map<Object, Integer> keyRows = new LinkedHashMap<>();
+        for (int i = 0; i < whereParams.size(); i++) {
+            keyRows.put(whereParams.get(i).getFirst(), i);
+        }
+        return List.copyOf(keyRows.values());
+    }
+
+    private boolean isCollapsed() {
+        return this.collapseRows > 0;
+    }
+
+    private int statementRows(int keys) {
+        return Math.min(this.collapseRows, keys);
+    }
+
+    private String collapseKey() {
+        List<String> keys = this.where.eqColumns();
+        if (keys == null || keys.size() != 1 || !RefValue.isRef(this.where.params().getFirst())) {
+            throw new IllegalStateException(
+                "Only the batch of where(key, Op.eq(RefValue.ref(field))) can be collapsed");
+        }
+        return keys.getFirst();
+    }
+
     public SqlUpdate agree_without_where_clause(boolean agree) {
         this.agree_without_where_clause = agree;
         return this;
@@ -184,4 +335,22 @@ public class SqlUpdate {
         this.refValueReplaced = true;
     }
 
+    private record Shape(String table, List<String> columns, List<SqlCondition.Part> where)
+        implements SqlRenderCache.Shape {
+
+        @Override
+        public Shape snapshot() {
+            return new Shape(table, SqlRenderCache.copyOf(columns), SqlRenderCache.copyOf(where));
+        }
+    }
+
+    private record CollapsedShape(String table, List<String> columns, List<String> caseColumns, String key, int rows)
+        implements SqlRenderCache.Shape {
+
+        @Override
+        public CollapsedShape snapshot() {
+            return new CollapsedShape(table, SqlRenderCache.copyOf(columns), SqlRenderCache.copyOf(caseColumns), key,
+                rows);
+        }
+    }
 }
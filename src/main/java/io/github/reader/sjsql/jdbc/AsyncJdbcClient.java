@@ -0,0 +1,241 @@
+package io.github.reader.sjsql.jdbc;
+
+import io.github.reader.sjsql.result.ResultType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs {@link SimpleJdbcClient} operations on virtual threads.
+ * <p>
+ * The number of concurrent operations is bounded by maxConcurrency, usually the maximum pool size of the DataSource.
+ * Operations run outside the transaction of the caller thread, so they cannot be used inside
+ * {@link SimpleJdbcClient#transaction(SimpleJdbcClient.TransactionOperation)}. Their queries go to the primary when
+ * the queries of the caller thread do, e.g. in {@link SimpleJdbcClient#readFromPrimary(Supplier)}.
+ */
+public class AsyncJdbcClient implements AutoCloseable {
+
+    private final SimpleJdbcClient jdbcClient;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+
+    public AsyncJdbcClient(SimpleJdbcClient jdbcClient, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be greater than 0");
+        }
+        this.jdbcClient = jdbcClient;
+        this.permits = new Semaphore(maxConcurrency);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    public <T> CompletableFuture<T> queryForObject(String sql, Object[] params, Class<T> tClass) {
+        return this.supply(client -> client.queryForObject(sql, params, tClass));
+    }
+
+    public <T> CompletableFuture<List<T>> queryForList(String sql, Object[] params, Class<T> elementType) {
+        return this.supply(client -> client.queryForList(sql, params, elementType));
+    }
+
+    public CompletableFuture<List<Map<String, Object>>> query(String sql, Object[] params) {
+        return this.supply(client -> client.query(sql, params));
+    }
+
+    public <T> CompletableFuture<T> query(String sql, Object[] params, ResultType<T> resultType) {
+        return this.supply(client -> client.query(sql, params, resultType));
+    }
+
+    public CompletableFuture<Integer> update(String sql, Object[] params) {
+        return this.supply(client -> client.update(sql, params));
+    }
+
+    public CompletableFuture<int[]> batchUpdate(String sql, Object[][] batchParams) {
+        return this.supply(client -> client.batchUpdate(sql, batchParams));
+    }
+
+    public CompletableFuture<int[]> batchUpdate(String sql, Object[][] batchParams, int batchSize) {
+        return this.supply(client -> client.batchUpdate(sql, batchParams, batchSize));
+    }
+
+    public <T> CompletableFuture<T> supply(JdbcOperation<T> operation) {
+        checkNotInTransaction();
+        boolean primary = jdbcClient.readsFromPrimary();
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(this.call(operation, primary, null));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Runs independent operations concurrently under one deadline, see {@link FanOut}.
+     */
+    public FanOut fanOut(Duration timeout) {
+        checkNotInTransaction();
+        return new FanOut(timeout);
+    }
+
+    /**
+     * @param primary      whether the submitting thread reads from the primary
+     * @param cancellation cancels the statements of the operation, null when it is not cancellable
+     */
+    private <T> T call(JdbcOperation<T> operation, boolean primary, StatementCancellation cancellation)
+        throws Exception {
+        permits.acquire();
+        try {
+            if (cancellation == null) {
+                return jdbcClient.routed(primary, () -> operation.execute(jdbcClient));
+            }
+            return jdbcClient.cancellable(cancellation,
+                () -> jdbcClient.routed(primary, () -> operation.execute(jdbcClient)));
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static void checkNotInTransaction() {
+        if (SimpleJdbcClient.inTransaction()) {
+            throw new IllegalStateException("Async operations cannot join the transaction of the current thread");
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    public interface JdbcOperation<T> {
+
+        T execute(SimpleJdbcClient jdbcClient) throws Exception;
+    }
+
+    /**
+     * Structured fan-out: fork operations, then {@link #join()} waits for all of them until the deadline.
+     * When one fails, the running statements of the others are cancelled at once by {@link java.sql.Statement#cancel()},
+     * and so when the deadline is exceeded. The threads are not interrupted, an operation that does not run
+     * statements is left to finish.
+     *
+     * <pre>{@code
+     * try (FanOut fanOut = asyncJdbcClient.fanOut(Duration.ofSeconds(2))) {
+     *     Subtask<Account> account = fanOut.fork(client -> client.queryForObject(sql1, params1, Account.class));
+     *     Subtask<List<Tenant>> tenants = fanOut.fork(client -> client.queryForList(sql2, params2, Tenant.class));
+     *     fanOut.join();
+     *     return new View(account.get(), tenants.get());
+     * }
+     * }</pre>
+     */
+    public final class FanOut implements AutoCloseable {
+
+        private final long deadlineNanos;
+        private final StatementCancellation cancellation = new StatementCancellation();
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private final CompletableFuture<Void> outcome = new CompletableFuture<>();
+        private boolean joined;
+
+        private FanOut(Duration timeout) {
+            this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+        }
+
+        public <T> Subtask<T> fork(JdbcOperation<T> operation) {
+            if (joined) {
+                throw new IllegalStateException("Cannot fork after join");
+            }
+
+            Subtask<T> subtask = new Subtask<>();
+            boolean primary = jdbcClient.readsFromPrimary();
+            pending.incrementAndGet();
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.whenComplete((result, e) -> {
+                if (e != null) {
+                    outcome.completeExceptionally(e);
+                    cancel();
+                } else {
+                    subtask.result = result;
+                    subtask.done = true;
+                    arrive();
+                }
+            });
+            executor.execute(() -> {
+                try {
+                    future.complete(AsyncJdbcClient.this.call(operation, primary, cancellation));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+            return subtask;
+        }
+
+        public void join() {
+            if (!joined) {
+                joined = true;
+                arrive();
+            }
+
+            try {
+                outcome.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                cancel();
+                throw new JdbcDataAccessException("Fan-out deadline exceeded", e);
+            } catch (ExecutionException e) {
+                cancel();
+                throw new JdbcDataAccessException(e.getCause());
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new JdbcDataAccessException(e);
+            }
+        }
+
+        private void arrive() {
+            if (pending.decrementAndGet() == 0) {
+                outcome.complete(null);
+            }
+        }
+
+        private void cancel() {
+            cancellation.cancel();
+        }
+
+        @Override
+        public void close() {
+            cancel();
+        }
+    }
+
+    public static final class Subtask<T> implements Supplier<T> {
+
+        private volatile T result;
+        private volatile boolean done;
+
+        private Subtask() {
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        /**
+         * the result of the operation, only available after a successful {@link FanOut#join()}.
+         */
+        @Override
+        public T get() {
+            if (!done) {
+                throw new IllegalStateException("Subtask is not completed");
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package io.github.reader.sjsql.jdbc;
+
+import static io.github.reader.sjsql.result.ClassUtils.toSnakeCase;
+
+import io.github.reader.sjsql.result.ClassUtils;
+
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Entities of {@link SimpleJdbcClient#bulkLoad(String, List, Iterator, int)} read one at a time, as bind parameters
+ * or as lines of a CSV stream.
+ * <p>
+ * The columns are declared, or all persistent fields of the entity class, or the keys of the first map. The fields
+ * of an entity that are not columns are not loaded. A later map with a value of another key is rejected rather than
+ * loaded without it, declare the columns when the maps have different keys.
+ * <p>
+ * CSV: fields separated by {@code ,}, strings and dates enclosed by {@code "} with the quotes doubled, NULL unquoted,
+ * lines terminated by {@code \n}, UTF-8. Dates are {@code yyyy-MM-dd HH:mm:ss.fffffffff} without zone, the instants
+ * and the zoned dates in the default zone like {@link java.util.Date}.
+ */
+final class BulkLoad {
+
+    private static final String MYSQL_STATEMENT = "com.mysql.cj.jdbc.JdbcStatement";
+    private static final String CSV_NULL = "NULL";
+    private static final DateTimeFormatter CSV_TIME = new DateTimeFormatterBuilder()
+        .appendPattern("HH:mm:ss")
+        .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+        .toFormatter();
+    private static final DateTimeFormatter CSV_DATE_TIME = new DateTimeFormatterBuilder()
+        .append(DateTimeFormatter.ISO_LOCAL_DATE)
+        .appendLiteral(' ')
+        .append(CSV_TIME)
+        .toFormatter();
+
+    private final String table;
+    private final Iterator<?> entities;
+    private final List<String> columns;
+    private final Set<String> columnSet;
+    // whether a map value of a key that is not a column is rejected
+    private final boolean strictKeys;
+    private final Class<?> entityType;
+    // persistent field index to column index, -1 for the fields that are not loaded
+    private final int[] fieldColumns;
+    private Object first;
+    private long rows;
+
+    /**
+     * @param columns the columns to load, null for the default columns
+     */
+    BulkLoad(String table, List<String> columns, Iterator<?> entities) {
+        this.table = table;
+        this.entities = entities;
+        this.first = Objects.requireNonNull(entities.next(), "entity cannot be null");
+        this.strictKeys = columns == null;
+
+        List<String> loaded = columns == null ? new ArrayList<>() : List.copyOf(columns);
+        if (first instanceof Map<?, ?> map) {
+            this.entityType = null;
+            this.fieldColumns = null;
+            if (columns == null) {
+                map.keySet().forEach(key -> loaded.add((String) key));
+            }
+        } else {
+            this.entityType = first.getClass();
+            List<Field> fields = ClassUtils.getPersistentFields(entityType);
+            if (columns == null) {
+                fields.forEach(field -> loaded.add(toSnakeCase(field.getName())));
+            }
+            this.fieldColumns = new int[fields.size()];
+            Set<String> matched = new HashSet<>();
+            for (int i = 0; i < fields.size(); i++) {
+                String column = toSnakeCase(fields.get(i).getName());
+                fieldColumns[i] = loaded.indexOf(column);
+                if (fieldColumns[i] >= 0) {
+                    matched.add(column);
+                }
+            }
+            if (matched.size() < loaded.size()) {
+                List<String> unknown = new ArrayList<>(loaded);
+                unknown.removeAll(matched);
+                throw new IllegalArgumentException("Columns " + unknown + " are not fields of " + entityType);
+            }
+        }
+        if (loaded.isEmpty()) {
+            throw new IllegalArgumentException("No columns to load");
+        }
+        this.columns = List.copyOf(loaded);
+        this.columnSet = new HashSet<>(loaded);
+    }
+
+    boolean hasNext() {
+        return first != null || entities.hasNext();
+    }
+
+    /**
+     * bind parameters of the next entity in the order of the columns.
+     */
+    Object[] nextParams() {
+        Object entity = first;
+        if (entity != null) {
+            first = null;
+        } else {
+            entity = Objects.requireNonNull(entities.next(), "entity cannot be null");
+        }
+        rows++;
+        return entity instanceof Map<?, ?> map ? mapParams(map) : objectParams(entity);
+    }
+
+    /**
+     * whether entities are read, a loader that failed before reading can be retried by another loader.
+     */
+    boolean started() {
+        return rows > 0;
+    }
+
+    String insertSql() {
+        String[] placeholders = new String[columns.size()];
+        Arrays.fill(placeholders, "?");
+        return "INSERT INTO " + table + " (" + String.join(",", columns) + ") VALUES ("
+            + String.join(",", placeholders) + ")";
+    }
+
+    /**
+     * MySQL {@code LOAD DATA} of the stream set by {@link #setMysqlLocalInfile(Statement, InputStream)}, the file
+     * name is not read.
+     */
+    String loadDataSql() {
+        return "LOAD DATA LOCAL INFILE 'sjsql-bulk-load.csv' INTO TABLE " + table
+            + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY ''"
+            + " LINES TERMINATED BY '\\n' (" + String.join(",", columns) + ")";
+    }
+
+    /**
+     * H2 insert from the CSV file of the database host.
+     */
+    String csvReadSql(Path csvFile) {
+        return "INSERT INTO " + table + " (" + String.join(",", columns) + ") SELECT * FROM " + csvRead(csvFile);
+    }
+
+    /**
+     * H2 read of an empty CSV file, fails like {@link #csvReadSql(Path)} when the user may not read files.
+     */
+    String csvProbeSql(Path emptyFile) {
+        return "SELECT COUNT(*) FROM " + csvRead(emptyFile);
+    }
+
+    private String csvRead(Path csvFile) {
+        String file = csvFile.toAbsolutePath().toString().replace("'", "''");
+        return "CSVREAD('" + file + "', '" + String.join(",", columns) + "', 'charset=UTF-8 null=" + CSV_NULL + "')";
+    }
+
+    /**
+     * CSV lines of the remaining entities, serialized while the stream is read.
+     */
+    InputStream csv() {
+        return new CsvStream(Long.MAX_VALUE);
+    }
+
+    /**
+     * CSV lines of the next entities, at most maxRows.
+     */
+    InputStream csv(long maxRows) {
+        return new CsvStream(maxRows);
+    }
+
+    /**
+     * feed the stream to the {@code LOAD DATA LOCAL INFILE} of MySQL Connector/J.
+     *
+     * @return false when the statement is not of Connector/J
+     */
+    static boolean setMysqlLocalInfile(Statement statement, InputStream stream) throws SQLException {
+        Class<?> type;
+        try {
+            type = Class.forName(MYSQL_STATEMENT, false, statement.getClass().getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+        if (!statement.isWrapperFor(type)) {
+            return false;
+        }
+        try {
+            type.getMethod("setLocalInfileInputStream", InputStream.class).invoke(statement.unwrap(type), stream);
+            return true;
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private Object[] mapParams(Map<?, ?> map) {
+        Object[] params = new Object[columns.size()];
+        for (int i = 0; i < params.length; i++) {
+            params[i] = map.get(columns.get(i));
+        }
+        if (strictKeys) {
+            for (Entry<?, ?> entry : map.entrySet()) {
+                if (entry.getValue() != null && !columnSet.contains(entry.getKey())) {
+                    throw unknownColumn(entry.getKey());
+                }
+            }
+        }
+        return params;
+    }
+
+    private Object[] objectParams(Object entity) {
+        if (entity.getClass() != entityType) {
+            throw new IllegalArgumentException(
+                "Entities must be of the same type, " + entity.getClass() + " is not " + entityType);
+        }
+        List<Field> fields = ClassUtils.getPersistentFields(entityType);
+        Object[] params = new Object[columns.size()];
+        for (int i = 0; i < fieldColumns.length; i++) {
+            if (fieldColumns[i] >= 0) {
+                params[fieldColumns[i]] = fieldValue(entity, fields.get(i));
+            }
+        }
+        return params;
+    }
+
+    private IllegalArgumentException unknownColumn(Object column) {
+        return new IllegalArgumentException("Column " + column + " of row " + rows
+            + " is not loaded, the columns are the keys of the first map: " + columns);
+    }
+
+    private static Object fieldValue(Object entity, Field field) {
+        try {
+            return ClassUtils.getFieldValue(entity, field);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void appendCsv(StringBuilder line, Object value) {
+        switch (value) {
+            case null -> line.append(CSV_NULL);
+            case Boolean bool -> line.append(bool ? '1' : '0');
+            case BigDecimal decimal -> line.append(decimal.toPlainString());
+            case Number number -> line.append(number);
+            case LocalDateTime dateTime -> appendQuoted(line, CSV_DATE_TIME.format(dateTime));
+            case LocalDate date -> appendQuoted(line, DateTimeFormatter.ISO_LOCAL_DATE.format(date));
+            case LocalTime time -> appendQuoted(line, CSV_TIME.format(time));
+            case Instant instant -> appendQuoted(line, CSV_DATE_TIME.format(instant.atZone(ZoneId.systemDefault())));
+            case OffsetDateTime dateTime -> appendCsv(line, dateTime.toInstant());
+            case ZonedDateTime dateTime -> appendCsv(line, dateTime.toInstant());
+            case TemporalAccessor temporal -> throw new IllegalArgumentException(
+                temporal.getClass().getSimpleName() + " values cannot be bulk loaded as CSV");
+            case java.sql.Date date -> appendQuoted(line, date.toString());
+            case java.sql.Time time -> appendQuoted(line, time.toString());
+            case Timestamp timestamp -> appendQuoted(line, timestamp.toString());
+            case java.util.Date date -> appendQuoted(line, new Timestamp(date.getTime()).toString());
+            case byte[] bytes -> throw new IllegalArgumentException("Binary values cannot be bulk loaded as CSV");
+            default -> appendQuoted(line, value.toString());
+        }
+    }
+
+    private static void appendQuoted(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    /**
+     * one line in memory at a time.
+     */
+    private final class CsvStream extends InputStream {
+
+        private final StringBuilder line = new StringBuilder(256);
+        private byte[] buffer = new byte[0];
+        private int position;
+        private long remainingRows;
+
+        CsvStream(long maxRows) {
+            this.remainingRows = maxRows;
+        }
+
+        private boolean fill() {
+            while (position == buffer.length) {
+                if (remainingRows == 0 || !hasNext()) {
+                    return false;
+                }
+                remainingRows--;
+                Object[] params = nextParams();
+                line.setLength(0);
+                for (int i = 0; i < params.length; i++) {
+                    if (i > 0) {
+                        line.append(',');
+                    }
+                    appendCsv(line, params[i]);
+                }
+                line.append('\n');
+                buffer = line.toString().getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public int read() {
+            return fill() ? buffer[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            int total = 0;
+            while (total < len && fill()) {
+                int n = Math.min(len - total, buffer.length - position);
+                System.arraycopy(buffer, position, b, off + total, n);
+                position += n;
+                total += n;
+            }
+            return total == 0 ? -1 : total;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.reader.sjsql.jdbc;
+
+import java.util.List;
+
+/**
+ * Result of {@link SimpleJdbcClient#parallelBatchUpdate(String, Object[][], int, int)}.
+ *
+ * @param rowsAffected affected rows in the original order of batchParams,
+ *                     rows of failed chunks are {@link java.sql.Statement#EXECUTE_FAILED}
+ * @param failures     failed chunks
+ */
+public record ParallelBatchResult(int[] rowsAffected, List<ChunkFailure> failures) {
+
+    public boolean isSuccess() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * @param chunk   chunk index
+     * @param fromRow first row index of the chunk, inclusive
+     * @param toRow   last row index of the chunk, exclusive
+     */
+    public record ChunkFailure(int chunk, int fromRow, int toRow, Throwable cause) {
+
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.reader.sjsql.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Binds a non-null value of one java type by its specialized setter, e.g. {@code setLong}.
+ */
+interface ParameterBinder {
+
+    void bind(PreparedStatement ps, int index, Object value) throws SQLException;
+}
@@ -0,0 +1,178 @@
+package io.github.reader.sjsql.jdbc;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parameter binders by java type, and the binders of every parameter position cached by sql.
+ * <p>
+ * Types without a specialized setter are bound by {@code setObject}.
+ */
+final class ParameterBinders {
+
+    private static final int MAX_CACHE_SIZE = 1024;
+    private static final Map<String, StatementBinder> statement_binder_cache = new ConcurrentHashMap<>(64);
+
+    private static final TypedBinder OBJECT_BINDER = new TypedBinder(Object.class, Types.JAVA_OBJECT,
+        PreparedStatement::setObject);
+
+    private static final ClassValue<TypedBinder> type_binder_cache = new ClassValue<>() {
+        @Override
+        protected TypedBinder computeValue(Class<?> type) {
+            return create(type);
+        }
+    };
+
+    private ParameterBinders() {
+    }
+
+    static StatementBinder forSql(String sql) {
+        StatementBinder binder = statement_binder_cache.get(sql);
+        if (binder == null) {
+            binder = new StatementBinder();
+            if (statement_binder_cache.size() < MAX_CACHE_SIZE) {
+                StatementBinder previous = statement_binder_cache.putIfAbsent(sql, binder);
+                binder = previous == null ? binder : previous;
+            }
+        }
+        return binder;
+    }
+
+    static TypedBinder of(Class<?> type) {
+        return type_binder_cache.get(type);
+    }
+
+    private static TypedBinder create(Class<?> type) {
+        if (type == Integer.class) {
+            return new TypedBinder(type, Types.INTEGER, (ps, i, v) -> ps.setInt(i, (Integer) v));
+        }
+        if (type == Long.class) {
+            return new TypedBinder(type, Types.BIGINT, (ps, i, v) -> ps.setLong(i, (Long) v));
+        }
+        if (type == String.class) {
+            return new TypedBinder(type, Types.VARCHAR, (ps, i, v) -> ps.setString(i, (String) v));
+        }
+        if (type == Boolean.class) {
+            return new TypedBinder(type, Types.BOOLEAN, (ps, i, v) -> ps.setBoolean(i, (Boolean) v));
+        }
+        if (type == Short.class) {
+            return new TypedBinder(type, Types.SMALLINT, (ps, i, v) -> ps.setShort(i, (Short) v));
+        }
+        if (type == Byte.class) {
+            return new TypedBinder(type, Types.TINYINT, (ps, i, v) -> ps.setByte(i, (Byte) v));
+        }
+        if (type == Double.class) {
+            return new TypedBinder(type, Types.DOUBLE, (ps, i, v) -> ps.setDouble(i, (Double) v));
+        }
+        if (type == Float.class) {
+            return new TypedBinder(type, Types.REAL, (ps, i, v) -> ps.setFloat(i, (Float) v));
+        }
+        if (type == Character.class) {
+            return new TypedBinder(type, Types.CHAR, (ps, i, v) -> ps.setString(i, v.toString()));
+        }
+        if (type == BigDecimal.class) {
+            return new TypedBinder(type, Types.DECIMAL, (ps, i, v) -> ps.setBigDecimal(i, (BigDecimal) v));
+        }
+        if (type == BigInteger.class) {
+            return new TypedBinder(type, Types.DECIMAL,
+                (ps, i, v) -> ps.setBigDecimal(i, new BigDecimal((BigInteger) v)));
+        }
+        if (type == byte[].class) {
+            return new TypedBinder(type, Types.VARBINARY, (ps, i, v) -> ps.setBytes(i, (byte[]) v));
+        }
+        // bound as java.time, the java.sql types drop the fraction of LocalTime and shift the local times in a DST gap
+        if (type == LocalDateTime.class) {
+            return new TypedBinder(type, Types.TIMESTAMP, PreparedStatement::setObject);
+        }
+        if (type == LocalDate.class) {
+            return new TypedBinder(type, Types.DATE, PreparedStatement::setObject);
+        }
+        if (type == LocalTime.class) {
+            return new TypedBinder(type, Types.TIME, PreparedStatement::setObject);
+        }
+        if (type == Instant.class) {
+            return new TypedBinder(type, Types.TIMESTAMP,
+                (ps, i, v) -> ps.setTimestamp(i, Timestamp.from((Instant) v)));
+        }
+        if (type == Timestamp.class) {
+            return new TypedBinder(type, Types.TIMESTAMP, (ps, i, v) -> ps.setTimestamp(i, (Timestamp) v));
+        }
+        if (type == Date.class) {
+            return new TypedBinder(type, Types.DATE, (ps, i, v) -> ps.setDate(i, (Date) v));
+        }
+        if (type == Time.class) {
+            return new TypedBinder(type, Types.TIME, (ps, i, v) -> ps.setTime(i, (Time) v));
+        }
+        if (type == java.util.Date.class) {
+            return new TypedBinder(type, Types.TIMESTAMP,
+                (ps, i, v) -> ps.setTimestamp(i, new Timestamp(((java.util.Date) v).getTime())));
+        }
+        return OBJECT_BINDER;
+    }
+
+    /**
+     * @param sqlType the {@link Types} to bind null of the type
+     */
+    record TypedBinder(Class<?> type, int sqlType, ParameterBinder binder) {
+
+    }
+
+    /**
+     * binders of the parameter positions of one sql, resolved from the types of the first non-null values and
+     * re-resolved when the type of a position changes.
+     * <p>
+     * Shared by the threads running the sql, the published array is never written, a change is made on a copy.
+     */
+    static final class StatementBinder {
+
+        private volatile TypedBinder[] binders = new TypedBinder[0];
+
+        void bind(PreparedStatement ps, Object[] params) throws SQLException {
+            TypedBinder[] binders = this.binders;
+            boolean copied = false;
+            if (binders.length < params.length) {
+                binders = Arrays.copyOf(binders, params.length);
+                copied = true;
+            }
+
+            for (int i = 0; i < params.length; i++) {
+                Object value = params[i];
+                TypedBinder binder = binders[i];
+                if (value == null) {
+                    if (binder == null || binder == OBJECT_BINDER) {
+                        ps.setObject(i + 1, null);
+                    } else {
+                        ps.setNull(i + 1, binder.sqlType());
+                    }
+                    continue;
+                }
+
+                if (binder == null || binder.type() != value.getClass()) {
+                    binder = of(value.getClass());
+                    if (!copied) {
+                        binders = binders.clone();
+                        copied = true;
+                    }
+                    binders[i] = binder;
+                }
+                binder.binder().bind(ps, i + 1, value);
+            }
+            if (copied) {
+                this.binders = binders;
+            }
+        }
+    }
+}
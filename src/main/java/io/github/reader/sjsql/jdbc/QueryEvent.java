@@ -0,0 +1,32 @@
+package io.github.reader.sjsql.jdbc;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timings of one statement execution, in nanoseconds.
+ *
+ * @param sql             the executed sql
+ * @param fingerprint     normalized sql, see {@link SqlFingerprint}
+ * @param params          bound parameters, null for batches
+ * @param connectionNanos time to acquire the connection
+ * @param prepareNanos    time to prepare the statement, close to 0 when it comes from the statement cache
+ * @param executeNanos    time to execute the statement
+ * @param mappingNanos    time to map the ResultSet, for streams it includes the time of the consumer
+ * @param rows            rows returned by a query or affected by an update, -1 when unknown
+ * @param error           the failure, null when successful
+ */
+public record QueryEvent(String sql, String fingerprint, Object[] params, long connectionNanos, long prepareNanos,
+                         long executeNanos, long mappingNanos, long rows, Throwable error) {
+
+    public long totalNanos() {
+        return connectionNanos + prepareNanos + executeNanos + mappingNanos;
+    }
+
+    public long totalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos());
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
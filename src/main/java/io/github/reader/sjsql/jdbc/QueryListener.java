@@ -0,0 +1,11 @@
+package io.github.reader.sjsql.jdbc;
+
+/**
+ * Notified after every statement executed by {@link SimpleJdbcClient}, successful or not.
+ * <p>
+ * Listeners are called on the executing thread, so they should be cheap and must not throw.
+ */
+public interface QueryListener {
+
+    void onQuery(QueryEvent event);
+}
@@ -0,0 +1,276 @@
+package io.github.reader.sjsql.jdbc;
+
+import io.github.reader.sjsql.SqlTables;
+import io.github.reader.sjsql.result.ClassUtils;
+import io.github.reader.sjsql.result.ColumnarResult;
+import io.github.reader.sjsql.result.ResultType;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Results of SqlSelect queries cached by sql, params and result type, tagged with the tables of the select.
+ * <p>
+ * Bounded by entries and estimated bytes, the least recently used entries are evicted first. The entries of a table
+ * are invalidated when {@link SimpleJdbcClient} writes the table. A query that loads while its tables are written is
+ * returned but not cached, so it never overwrites the invalidation with stale rows.
+ * <p>
+ * Cached lists are unmodifiable and shared by the callers, the rows must be treated as read only.
+ * <pre>{@code
+ * jdbcClient.resultCache(new QueryResultCache(10_000, 64 * 1024 * 1024, Duration.ofMinutes(5)));
+ * List<Account> accounts = jdbcClient.queryForList(SqlSelect.from("account"), Account.class);
+ * }</pre>
+ */
+public class QueryResultCache {
+
+    private static final Object NULL = new Object();
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long defaultTtlNanos;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Set<Key>> tableKeys = new HashMap<>();
+    private final Map<String, Long> tableVersions = new HashMap<>();
+    private long allVersion;
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public QueryResultCache(int maxEntries, long maxBytes, Duration defaultTtl) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be greater than 0");
+        }
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Max bytes must be greater than 0");
+        }
+        if (defaultTtl.isNegative() || defaultTtl.isZero()) {
+            throw new IllegalArgumentException("Default ttl must be greater than 0");
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.defaultTtlNanos = defaultTtl.toNanos();
+    }
+
+    /**
+     * the cached result, or the result of the loader cached for ttl, null ttl means the default ttl.
+     */
+    <T> T get(String sql, Object[] params, ResultType<T> resultType, Set<String> tables, Duration ttl,
+        Supplier<T> loader) {
+        long ttlNanos = ttl == null ? defaultTtlNanos : ttl.toNanos();
+        if (ttlNanos <= 0) {
+            return loader.get();
+        }
+
+        Key key = new Key(sql, params == null ? List.of() : Arrays.asList(params.clone()), resultType);
+        long[] versions;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAtNanos() - System.nanoTime() > 0) {
+                    hits++;
+                    // the key holds the result type, the value was loaded for it
+                    @SuppressWarnings("unchecked")
+                    T value = (T) (entry.value() == NULL ? null : entry.value());
+                    return value;
+                }
+                remove(key);
+            }
+            misses++;
+            versions = versions(tables);
+        }
+
+        T value = readOnly(loader.get());
+        long size = estimateSize(value, 0) + estimateSize(sql, 0) + estimateSize(key.params(), 0);
+        if (size > maxBytes) {
+            return value;
+        }
+
+        synchronized (this) {
+            if (!Arrays.equals(versions, versions(tables))) {
+                return value;
+            }
+            remove(key);
+            entries.put(key, new Entry(value == null ? NULL : value, Set.copyOf(tables), size,
+                System.nanoTime() + ttlNanos));
+            bytes += size;
+            for (String table : tables) {
+                tableKeys.computeIfAbsent(table, k -> new HashSet<>()).add(key);
+            }
+            evict();
+        }
+        return value;
+    }
+
+    /**
+     * drop the cached results that read the table, the table name is normalized by {@link SqlTables#tableName(String)}.
+     */
+    public synchronized void invalidate(String table) {
+        String tableName = SqlTables.tableName(table);
+        if (tableName == null) {
+            return;
+        }
+        tableVersions.merge(tableName, 1L, Long::sum);
+        Set<Key> keys = tableKeys.remove(tableName);
+        if (keys == null) {
+            return;
+        }
+        for (Key key : new ArrayList<>(keys)) {
+            if (remove(key)) {
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        allVersion++;
+        invalidations += entries.size();
+        entries.clear();
+        tableKeys.clear();
+        bytes = 0;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, invalidations, entries.size(), bytes);
+    }
+
+    /**
+     * invalidation versions of the tables, the last element is the version of {@link #invalidateAll()}.
+     */
+    private long[] versions(Set<String> tables) {
+        long[] versions = new long[tables.size() + 1];
+        int i = 0;
+        for (String table : tables) {
+            versions[i++] = tableVersions.getOrDefault(table, 0L);
+        }
+        versions[i] = allVersion;
+        return versions;
+    }
+
+    private boolean remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        bytes -= entry.size();
+        for (String table : entry.tables()) {
+            Set<Key> keys = tableKeys.get(table);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    tableKeys.remove(table);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void evict() {
+        while ((entries.size() > maxEntries || bytes > maxBytes) && !entries.isEmpty()) {
+            // access ordered, the first is the least recently used
+            remove(entries.keySet().iterator().next());
+            evictions++;
+        }
+    }
+
+    private static <T> T readOnly(T value) {
+        if (value instanceof List<?> list) {
+            // T is a list type, the copy keeps its elements
+            @SuppressWarnings("unchecked")
+            T copy = (T) Collections.unmodifiableList(new ArrayList<>(list));
+            return copy;
+        }
+        return value;
+    }
+
+    /**
+     * rough heap size of a result, object headers and references included.
+     */
+    static long estimateSize(Object value, int depth) {
+        if (value == null) {
+            return 8;
+        }
+        if (value instanceof String s) {
+            return 40 + 2L * s.length();
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) {
+            return 24;
+        }
+        if (value instanceof Temporal || value instanceof Date) {
+            return 32;
+        }
+        if (value instanceof byte[] b) {
+            return 16 + b.length;
+        }
+        if (value instanceof long[] values) {
+            return 16 + 8L * values.length;
+        }
+        if (value instanceof int[] values) {
+            return 16 + 4L * values.length;
+        }
+        if (value instanceof double[] values) {
+            return 16 + 8L * values.length;
+        }
+        if (value instanceof ColumnarResult columnar) {
+            return columnar.estimatedBytes();
+        }
+        if (depth > 3) {
+            return 16;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = 24 + 8L * collection.size();
+            for (Object element : collection) {
+                size += estimateSize(element, depth + 1);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = 48;
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                size += 32 + estimateSize(e.getKey(), depth + 1) + estimateSize(e.getValue(), depth + 1);
+            }
+            return size;
+        }
+
+        long size = 16;
+        for (Field field : ClassUtils.getPersistentFields(value.getClass())) {
+            try {
+                size += 8 + estimateSize(ClassUtils.getFieldValue(value, field), depth + 1);
+            } catch (Throwable e) {
+                size += 8;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @param invalidations entries dropped by invalidation, evictions are the entries dropped by the bounds
+     * @param bytes         estimated bytes of the cached entries
+     */
+    public record Stats(long hits, long misses, long evictions, long invalidations, int entries, long bytes) {
+
+    }
+
+    private record Key(String sql, List<Object> params, ResultType<?> resultType) {
+
+    }
+
+    private record Entry(Object value, Set<String> tables, long size, long expiresAtNanos) {
+
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.reader.sjsql.jdbc;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histogram of one sql fingerprint, recorded by {@link QueryStatsRecorder}.
+ */
+public final class QueryStats {
+
+    private final String fingerprint;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder connectionNanos = new LongAdder();
+    private final LongAdder prepareNanos = new LongAdder();
+    private final LongAdder executeNanos = new LongAdder();
+    private final LongAdder mappingNanos = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    QueryStats(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    void record(QueryEvent event) {
+        count.increment();
+        if (!event.isSuccess()) {
+            errors.increment();
+        }
+        if (event.rows() > 0) {
+            rows.add(event.rows());
+        }
+        connectionNanos.add(event.connectionNanos());
+        prepareNanos.add(event.prepareNanos());
+        executeNanos.add(event.executeNanos());
+        mappingNanos.add(event.mappingNanos());
+        latency.record(event.totalNanos());
+    }
+
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    public long rows() {
+        return rows.sum();
+    }
+
+    public long connectionNanos() {
+        return connectionNanos.sum();
+    }
+
+    public long prepareNanos() {
+        return prepareNanos.sum();
+    }
+
+    public long executeNanos() {
+        return executeNanos.sum();
+    }
+
+    public long mappingNanos() {
+        return mappingNanos.sum();
+    }
+
+    /**
+     * histogram of the total time of every execution.
+     */
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    public long percentile(double percentile) {
+        return latency.percentile(percentile);
+    }
+
+    @Override
+    public String toString() {
+        return "QueryStats{fingerprint='" + fingerprint + "', count=" + count() + ", errors=" + errors()
+            + ", rows=" + rows() + ", p50=" + percentile(50) + "ns, p99=" + percentile(99) + "ns, max="
+            + latency.max() + "ns}";
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.reader.sjsql.jdbc;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Default {@link QueryListener}, records counters and latency histograms per sql fingerprint.
+ * <pre>{@code
+ * QueryStatsRecorder recorder = new QueryStatsRecorder();
+ * jdbcClient.addQueryListener(recorder);
+ * recorder.stats(SqlFingerprint.of(sql)).percentile(99);
+ * }</pre>
+ */
+public class QueryStatsRecorder implements QueryListener {
+
+    /**
+     * fingerprints over the limit are recorded together.
+     */
+    public static final String OTHER_FINGERPRINT = "(other)";
+
+    private final int maxFingerprints;
+    private final Map<String, QueryStats> stats = new ConcurrentHashMap<>(64);
+
+    public QueryStatsRecorder() {
+        this(1000);
+    }
+
+    public QueryStatsRecorder(int maxFingerprints) {
+        if (maxFingerprints <= 0) {
+            throw new IllegalArgumentException("Max fingerprints must be greater than 0");
+        }
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    @Override
+    public void onQuery(QueryEvent event) {
+        String fingerprint = event.fingerprint();
+        QueryStats queryStats = stats.get(fingerprint);
+        if (queryStats == null) {
+            if (stats.size() >= maxFingerprints) {
+                fingerprint = OTHER_FINGERPRINT;
+            }
+            queryStats = stats.computeIfAbsent(fingerprint, QueryStats::new);
+        }
+        queryStats.record(event);
+    }
+
+    public QueryStats stats(String fingerprint) {
+        return stats.get(fingerprint);
+    }
+
+    public Map<String, QueryStats> allStats() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.reader.sjsql.jdbc;
+
+import java.util.List;
+
+/**
+ * Marks the phases of one statement execution and publishes a {@link QueryEvent} to the listeners.
+ */
+final class QueryTrace {
+
+    static final QueryTrace NOOP = new QueryTrace(null, null, null);
+
+    private final List<QueryListener> listeners;
+    private final String sql;
+    private final Object[] params;
+    private final long startNanos;
+    private long connectedNanos;
+    private long preparedNanos;
+    private long executedNanos;
+    private long rows = -1;
+
+    private QueryTrace(List<QueryListener> listeners, String sql, Object[] params) {
+        this.listeners = listeners;
+        this.sql = sql;
+        this.params = params;
+        this.startNanos = listeners == null ? 0 : System.nanoTime();
+    }
+
+    static QueryTrace start(List<QueryListener> listeners, String sql, Object[] params) {
+        if (listeners.isEmpty()) {
+            return NOOP;
+        }
+        return new QueryTrace(listeners, sql, params);
+    }
+
+    void connected() {
+        if (listeners != null) {
+            connectedNanos = System.nanoTime();
+        }
+    }
+
+    void prepared() {
+        if (listeners != null) {
+            preparedNanos = System.nanoTime();
+        }
+    }
+
+    void executed() {
+        if (listeners != null) {
+            executedNanos = System.nanoTime();
+        }
+    }
+
+    void rows(long rows) {
+        if (listeners != null) {
+            this.rows = rows;
+        }
+    }
+
+    void addRow() {
+        if (listeners != null) {
+            this.rows = rows < 0 ? 1 : rows + 1;
+        }
+    }
+
+    void finish(Throwable error) {
+        if (listeners == null) {
+            return;
+        }
+
+        // a failed phase takes the rest of the time
+        long endNanos = System.nanoTime();
+        long connected = connectedNanos == 0 ? endNanos : connectedNanos;
+        long prepared = preparedNanos == 0 ? endNanos : preparedNanos;
+        long executed = executedNanos == 0 ? endNanos : executedNanos;
+        QueryEvent event = new QueryEvent(sql, SqlFingerprint.of(sql), params,
+            connected - startNanos, Math.max(0, prepared - connected), Math.max(0, executed - prepared),
+            Math.max(0, endNanos - executed), rows, error);
+
+        for (QueryListener listener : listeners) {
+            try {
+                listener.onQuery(event);
+            } catch (RuntimeException e) {
+                // Ignore
+            }
+        }
+    }
+}
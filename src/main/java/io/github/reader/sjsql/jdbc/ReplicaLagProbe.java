@@ -0,0 +1,36 @@
+package io.github.reader.sjsql.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Replication lag of a replica, see {@link ReplicaSet#lagProbe(ReplicaLagProbe, Duration)}.
+ */
+public interface ReplicaLagProbe {
+
+    /**
+     * @param connection connection of the replica
+     * @return the lag, null when replication is not running
+     */
+    Duration lag(Connection connection) throws SQLException;
+
+    /**
+     * {@code Seconds_Behind_Source} of {@code SHOW REPLICA STATUS}, MySQL 8.0.22 and later.
+     */
+    static ReplicaLagProbe mysql() {
+        return connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+                if (!rs.next()) {
+                    // not a replica
+                    return Duration.ZERO;
+                }
+                long seconds = rs.getLong("Seconds_Behind_Source");
+                return rs.wasNull() ? null : Duration.ofSeconds(seconds);
+            }
+        };
+    }
+}
@@ -0,0 +1,240 @@
+package io.github.reader.sjsql.jdbc;
+
+import javax.sql.DataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replica DataSources that serve the reads of {@link SimpleJdbcClient#replicas(ReplicaSet)}.
+ * <p>
+ * A replica is out of rotation while it is marked down, lags behind more than the max lag of the lag probe, or
+ * failed to give a connection within the retry interval. Reads go to the primary when no replica is available.
+ * <pre>{@code
+ * ReplicaSet replicaSet = new ReplicaSet(List.of(replica1, replica2))
+ *     .balancing(Balancing.LEAST_IN_FLIGHT)
+ *     .lagProbe(ReplicaLagProbe.mysql(), Duration.ofSeconds(5))
+ *     .checkLagEvery(Duration.ofSeconds(1));
+ * jdbcClient.replicas(replicaSet);
+ * }</pre>
+ */
+public class ReplicaSet implements AutoCloseable {
+
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<Connection, Replica> leased = new ConcurrentHashMap<>(64);
+    private Balancing balancing = Balancing.ROUND_ROBIN;
+    private long retryAfterNanos = TimeUnit.SECONDS.toNanos(30);
+    private ReplicaLagProbe lagProbe;
+    private long maxLagNanos;
+    private ScheduledExecutorService lagChecker;
+
+    public ReplicaSet(List<DataSource> dataSources) {
+        if (dataSources == null || dataSources.isEmpty()) {
+            throw new IllegalArgumentException("Replica dataSources cannot be empty");
+        }
+        List<Replica> list = new ArrayList<>(dataSources.size());
+        for (DataSource dataSource : dataSources) {
+            list.add(new Replica(dataSource));
+        }
+        this.replicas = List.copyOf(list);
+    }
+
+    public ReplicaSet balancing(Balancing balancing) {
+        this.balancing = balancing;
+        return this;
+    }
+
+    /**
+     * how long a replica stays out of rotation after it failed to give a connection, default 30 seconds.
+     */
+    public ReplicaSet retryAfter(Duration retryAfter) {
+        if (retryAfter.isNegative()) {
+            throw new IllegalArgumentException("Retry interval must not be negative");
+        }
+        this.retryAfterNanos = retryAfter.toNanos();
+        return this;
+    }
+
+    /**
+     * take the replicas lagging more than maxLag out of rotation, checked by {@link #checkLag()}.
+     */
+    public ReplicaSet lagProbe(ReplicaLagProbe lagProbe, Duration maxLag) {
+        if (maxLag.isNegative()) {
+            throw new IllegalArgumentException("Max lag must not be negative");
+        }
+        this.lagProbe = lagProbe;
+        this.maxLagNanos = maxLag.toNanos();
+        return this;
+    }
+
+    /**
+     * run {@link #checkLag()} periodically on a daemon thread until closed.
+     */
+    public synchronized ReplicaSet checkLagEvery(Duration interval) {
+        if (lagProbe == null) {
+            throw new IllegalStateException("lag probe is not configured");
+        }
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Interval must be greater than 0");
+        }
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        lagChecker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                                                                      .name("sjsql-replica-lag")
+                                                                      .daemon(true)
+                                                                      .factory());
+        long nanos = interval.toNanos();
+        lagChecker.scheduleWithFixedDelay(this::checkLag, 0, nanos, TimeUnit.NANOSECONDS);
+        return this;
+    }
+
+    /**
+     * probe the lag of every replica, the replicas lagging too much or failing the probe leave the rotation.
+     */
+    public void checkLag() {
+        ReplicaLagProbe probe = this.lagProbe;
+        if (probe == null) {
+            throw new IllegalStateException("lag probe is not configured");
+        }
+        for (Replica replica : replicas) {
+            long lagNanos;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                Duration lag = probe.lag(connection);
+                lagNanos = lag == null ? Long.MAX_VALUE : lag.toNanos();
+            } catch (SQLException | RuntimeException e) {
+                lagNanos = Long.MAX_VALUE;
+            }
+            replica.lagNanos = lagNanos;
+            replica.lagging = lagNanos > maxLagNanos;
+        }
+    }
+
+    /**
+     * take the replica of the index out of rotation until {@link #markUp(int)}.
+     */
+    public void markDown(int index) {
+        replicas.get(index).down = true;
+    }
+
+    public void markUp(int index) {
+        Replica replica = replicas.get(index);
+        replica.down = false;
+        replica.failedAtNanos = 0;
+    }
+
+    public List<ReplicaStatus> status() {
+        long now = System.nanoTime();
+        List<ReplicaStatus> status = new ArrayList<>(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            status.add(new ReplicaStatus(i, replica.isAvailable(now, retryAfterNanos), replica.inFlight.get(),
+                replica.lagNanos == Long.MAX_VALUE ? null : Duration.ofNanos(replica.lagNanos)));
+        }
+        return status;
+    }
+
+    /**
+     * connection of an available replica, null when none is available.
+     */
+    Connection getConnection() {
+        long now = System.nanoTime();
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            Replica replica = select(now);
+            if (replica == null) {
+                return null;
+            }
+
+            replica.inFlight.incrementAndGet();
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                leased.put(connection, replica);
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                replica.inFlight.decrementAndGet();
+                replica.failedAtNanos = now;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * the connection is closed, whether or not it is a replica connection.
+     */
+    void release(Connection connection) {
+        Replica replica = leased.remove(connection);
+        if (replica != null) {
+            replica.inFlight.decrementAndGet();
+        }
+    }
+
+    private Replica select(long now) {
+        int size = replicas.size();
+        int start = next.getAndIncrement() & Integer.MAX_VALUE;
+        Replica selected = null;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.isAvailable(now, retryAfterNanos)) {
+                continue;
+            }
+            if (balancing == Balancing.ROUND_ROBIN) {
+                return replica;
+            }
+            if (selected == null || replica.inFlight.get() < selected.inFlight.get()) {
+                selected = replica;
+            }
+        }
+        return selected;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+            lagChecker = null;
+        }
+    }
+
+    public enum Balancing {
+        ROUND_ROBIN,
+        /**
+         * the replica with the fewest connections in use, ties broken round-robin.
+         */
+        LEAST_IN_FLIGHT
+    }
+
+    /**
+     * @param lag the last probed lag, null when not probed or replication is not running
+     */
+    public record ReplicaStatus(int index, boolean available, int inFlight, Duration lag) {
+
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile boolean down;
+        private volatile boolean lagging;
+        private volatile long lagNanos = Long.MAX_VALUE;
+        private volatile long failedAtNanos;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private boolean isAvailable(long now, long retryAfterNanos) {
+            return !down && !lagging && (failedAtNanos == 0 || now - failedAtNanos >= retryAfterNanos);
+        }
+    }
+}
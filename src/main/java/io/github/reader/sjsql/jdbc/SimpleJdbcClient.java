@@ -1,32 +1,214 @@
 package io.github.reader.sjsql.jdbc;
 
+import io.github.reader.sjsql.Dialect;
+import io.github.reader.sjsql.KeysetPage;
+import io.github.reader.sjsql.Page;
+import io.github.reader.sjsql.Pageable;
+import io.github.reader.sjsql.SqlInsert;
+import io.github.reader.sjsql.SqlSelect;
+import io.github.reader.sjsql.SqlTables;
+import io.github.reader.sjsql.result.ColumnarResult;
 import io.github.reader.sjsql.result.ResultType;
+import io.github.reader.sjsql.result.RowMapper;
 import javax.sql.DataSource;
 
+import io.github.reader.sjsql.jdbc.ParallelBatchResult.ChunkFailure;
+import io.github.reader.sjsql.jdbc.ParameterBinders.StatementBinder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class SimpleJdbcClient {
 
+    private static final int MAX_COUNT_CACHE_SIZE = 1024;
+    private static final int DEFAULT_BULK_LOAD_BATCH_SIZE = 1000;
+    private static final int DEFAULT_CONCURRENT_COUNTS = 4;
+    private static final long NO_WRITE = Long.MIN_VALUE;
+
     private final DataSource dataSource;
 
     private static final ThreadLocal<Connection> connectionThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<StatementCache> statementCacheThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<StatementCancellation> cancellationThreadLocal = new ThreadLocal<>();
+
+    private int statementCacheSize;
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final List<QueryListener> queryListeners = new CopyOnWriteArrayList<>();
+    private long countCacheTtlNanos;
+    private final Map<CountKey, CachedCount> countCache = new ConcurrentHashMap<>(64);
+    // the counts of page() running beside their page queries
+    private volatile Semaphore countPermits = new Semaphore(DEFAULT_CONCURRENT_COUNTS);
+    private QueryResultCache resultCache;
+    // tables written by the transaction of the thread, invalidated again when it ends, "" means all tables
+    private final ThreadLocal<Set<String>> transactionWrites = new ThreadLocal<>();
+    private ReplicaSet replicaSet;
+    private long readYourWritesNanos;
+    // depth of readFromPrimary scopes of the thread
+    private final ThreadLocal<int[]> primaryReads = ThreadLocal.withInitial(() -> new int[1]);
+    // the last write of the client on any thread, NO_WRITE before the first one
+    private final AtomicLong lastWriteNanos = new AtomicLong(NO_WRITE);
+    private volatile Dialect dialect;
 
     public SimpleJdbcClient(DataSource dataSource) {
         this.dataSource = dataSource;
 
     }
 
+    /**
+     * Cache prepared statements of the transaction connection, 0 means disabled.
+     */
+    public SimpleJdbcClient statementCacheSize(int statementCacheSize) {
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("Statement cache size must not be negative");
+        }
+        this.statementCacheSize = statementCacheSize;
+        return this;
+    }
+
+    /**
+     * Cache the totals of {@link #page(SqlSelect, ResultType, Pageable)} by count sql and params, 0 means disabled.
+     */
+    public SimpleJdbcClient countCacheTtl(Duration ttl) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("Count cache ttl must not be negative");
+        }
+        this.countCacheTtlNanos = ttl.toNanos();
+        this.countCache.clear();
+        return this;
+    }
+
+    /**
+     * The number of {@link #page(SqlSelect, ResultType, Pageable)} counts running concurrently with their page
+     * queries, 4 by default. Each holds one more connection, keep it below the pool size. A page beyond the limit runs
+     * its count after the page query, 0 means always.
+     */
+    public SimpleJdbcClient concurrentCounts(int maxCounts) {
+        if (maxCounts < 0) {
+            throw new IllegalArgumentException("Concurrent counts must not be negative");
+        }
+        this.countPermits = new Semaphore(maxCounts);
+        return this;
+    }
+
+    /**
+     * Cache the results of the SqlSelect queries, e.g. {@link #query(SqlSelect, ResultType)}. The writes of this
+     * client invalidate the cached results of the written tables, null means disabled.
+     */
+    public SimpleJdbcClient resultCache(QueryResultCache resultCache) {
+        this.resultCache = resultCache;
+        return this;
+    }
+
+    /**
+     * Route the queries to the replicas, the writes and everything in a transaction go to the primary dataSource.
+     */
+    public SimpleJdbcClient replicas(ReplicaSet replicaSet) {
+        this.replicaSet = replicaSet;
+        return this;
+    }
+
+    /**
+     * Read your writes, the queries go to the primary for the window after the last write of the client on any
+     * thread, 0 means disabled. The cached results of {@link #query(SqlSelect, ResultType, Duration)} are loaded from
+     * the primary in the window too, so a replica that has not applied the write does not cache stale rows.
+     */
+    public SimpleJdbcClient readYourWrites(Duration window) {
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Read your writes window must not be negative");
+        }
+        this.readYourWritesNanos = window.toNanos();
+        return this;
+    }
+
+    /**
+     * Run the queries of the operation on the primary, e.g. to read the rows just written.
+     */
+    public <T> T readFromPrimary(Supplier<T> operation) {
+        int[] depth = primaryReads.get();
+        depth[0]++;
+        try {
+            return operation.get();
+        } finally {
+            depth[0]--;
+        }
+    }
+
+    /**
+     * Dialect of the dataSource, detected from the connection metadata when not set.
+     */
+    public SimpleJdbcClient dialect(Dialect dialect) {
+        this.dialect = dialect;
+        return this;
+    }
+
+    public Dialect dialect() {
+        Dialect detected = this.dialect;
+        if (detected == null) {
+            detected = withMetaData(metaData -> Dialect.of(metaData.getDatabaseProductName()));
+            this.dialect = detected;
+        }
+        return detected;
+    }
+
+    public StatementCacheStats statementCacheStats() {
+        return new StatementCacheStats(statementCacheHits.sum(), statementCacheMisses.sum());
+    }
+
+    /**
+     * Notify the listener after every statement, e.g. {@link QueryStatsRecorder}.
+     */
+    public SimpleJdbcClient addQueryListener(QueryListener listener) {
+        this.queryListeners.add(listener);
+        return this;
+    }
+
+    public SimpleJdbcClient removeQueryListener(QueryListener listener) {
+        this.queryListeners.remove(listener);
+        return this;
+    }
+
     private Connection getConnection() {
         final Connection connection = connectionThreadLocal.get();
         if (connection != null) {
@@ -39,6 +221,87 @@ public class SimpleJdbcClient {
         }
     }
 
+    private Connection getReadConnection() {
+        ReplicaSet replicas = this.replicaSet;
+        if (replicas == null || connectionThreadLocal.get() != null || readsFromPrimary()) {
+            return getConnection();
+        }
+
+        Connection connection = replicas.getConnection();
+        return connection != null ? connection : getConnection();
+    }
+
+    /**
+     * whether the queries of the current thread go to the primary, by {@link #readFromPrimary(Supplier)} or read your
+     * writes. Work moved to another thread takes the decision along, see {@link #routed(boolean, Callable)}.
+     */
+    boolean readsFromPrimary() {
+        if (primaryReads.get()[0] > 0) {
+            return true;
+        }
+        long lastWrite = lastWriteNanos.get();
+        return readYourWritesNanos > 0 && lastWrite != NO_WRITE && System.nanoTime() - lastWrite < readYourWritesNanos;
+    }
+
+    /**
+     * run the operation on the current thread with the routing decided on the thread that submitted it.
+     */
+    <T> T routed(boolean primary, Callable<T> operation) throws Exception {
+        if (!primary) {
+            return operation.call();
+        }
+        int[] depth = primaryReads.get();
+        depth[0]++;
+        try {
+            return operation.call();
+        } finally {
+            depth[0]--;
+        }
+    }
+
+    /**
+     * run the operation on the current thread with its statements cancelled by the cancellation.
+     */
+    <T> T cancellable(StatementCancellation cancellation, Callable<T> operation) throws Exception {
+        StatementCancellation previous = cancellationThreadLocal.get();
+        cancellationThreadLocal.set(cancellation);
+        try {
+            return operation.call();
+        } finally {
+            if (previous == null) {
+                cancellationThreadLocal.remove();
+            } else {
+                cancellationThreadLocal.set(previous);
+            }
+        }
+    }
+
+    private static <T> T cancellable(Statement statement, StatementHandler<T> handler) throws SQLException {
+        StatementCancellation cancellation = cancellationThreadLocal.get();
+        if (cancellation == null) {
+            return handler.handle(statement);
+        }
+        cancellation.register(statement);
+        try {
+            return handler.handle(statement);
+        } finally {
+            cancellation.unregister(statement);
+        }
+    }
+
+    private void markWrite() {
+        if (replicaSet != null && readYourWritesNanos > 0) {
+            lastWriteNanos.set(System.nanoTime());
+        }
+    }
+
+    /**
+     * whether the current thread is bound to a transaction connection.
+     */
+    static boolean inTransaction() {
+        return connectionThreadLocal.get() != null;
+    }
+
     public <T> T queryForObject(String sql, Object[] params, Class<T> tClass) {
         return this.query(sql, params, ResultType.of(tClass));
     }
@@ -52,26 +315,289 @@ public class SimpleJdbcClient {
     }
 
     public <T> T query(String sql, Object[] params, ResultType<T> resultType) {
-        return this.execute(sql, ps -> {
-            this.setParameters(ps, params);
+        return this.execute(sql, params, null, true, (ps, trace) -> {
+            this.setParameters(ps, sql, params);
             try (ResultSet rs = ps.executeQuery()) {
+                trace.executed();
                 if (resultType.isCollectionType()) {
-                    return (T) resultType.mappingList(rs);
+                    // T is the list type, mappingList reads its elements
+                    @SuppressWarnings("unchecked")
+                    T results = (T) resultType.mappingList(rs);
+                    trace.rows(((List<?>) results).size());
+                    return results;
                 }
-                return resultType.mapping(rs);
+                return resultType.mapping(rs, trace::rows);
             } catch (Throwable e) {
                 throw new JdbcDataAccessException(e);
             }
         });
     }
 
+    public <T> T queryForObject(SqlSelect sqlSelect, Class<T> tClass) {
+        return this.query(sqlSelect, ResultType.of(tClass));
+    }
+
+    public <T> List<T> queryForList(SqlSelect sqlSelect, Class<T> elementType) {
+        return this.query(sqlSelect, ResultType.forList(elementType));
+    }
+
+    public <T> T query(SqlSelect sqlSelect, ResultType<T> resultType) {
+        return this.query(sqlSelect, resultType, null);
+    }
+
+    /**
+     * Query through the result cache, the result is cached for ttl or the default ttl of the cache when ttl is null.
+     * <p>
+     * Without a result cache or in a transaction, the query goes to the database directly.
+     */
+    public <T> T query(SqlSelect sqlSelect, ResultType<T> resultType, Duration ttl) {
+        String sql = sqlSelect.toSql();
+        Object[] params = sqlSelect.params();
+        QueryResultCache cache = this.resultCache;
+        if (cache == null || inTransaction()) {
+            return this.query(sql, params, resultType);
+        }
+        // in the read your writes window the loader reads the primary
+        return cache.get(sql, params, resultType, sqlSelect.tables(), ttl,
+            () -> this.query(sql, params, resultType));
+    }
+
+    /**
+     * the first column of the rows without boxing, null is 0.
+     */
+    public long[] queryForLongArray(String sql, Object[] params) {
+        return this.query(sql, params, ResultType.forLongArray());
+    }
+
+    public int[] queryForIntArray(String sql, Object[] params) {
+        return this.query(sql, params, ResultType.forIntArray());
+    }
+
+    public double[] queryForDoubleArray(String sql, Object[] params) {
+        return this.query(sql, params, ResultType.forDoubleArray());
+    }
+
+    /**
+     * the columns of the rows into primitive arrays, see {@link ColumnarResult}.
+     */
+    public ColumnarResult queryForColumns(String sql, Object[] params) {
+        return this.query(sql, params, ResultType.columnar());
+    }
+
+    public <T> Stream<T> queryForStream(String sql, Object[] params, Class<T> elementType) {
+        return this.queryForStream(sql, params, ResultType.of(elementType));
+    }
+
+    public <T> Stream<T> queryForStream(String sql, Object[] params, ResultType<T> rowType) {
+        return this.queryForStream(sql, params, rowType, 0);
+    }
+
+    /**
+     * Streaming query, rows are mapped one at a time while the stream is consumed.
+     * <p>
+     * The connection stays open until the stream is exhausted or closed, so use it with try-with-resources.
+     * For MySQL, pass {@code Integer.MIN_VALUE} as fetchSize to stream rows instead of reading them all at once.
+     *
+     * @param rowType   single row type, e.g. {@code ResultType.of(Account.class)}
+     * @param fetchSize the number of rows to fetch per round trip, 0 means driver default
+     */
+    public <T> Stream<T> queryForStream(String sql, Object[] params, ResultType<T> rowType, int fetchSize) {
+        if (rowType.isCollectionType()) {
+            throw new IllegalArgumentException("rowType must be a single row type, e.g. ResultType.of(Account.class)");
+        }
+
+        QueryTrace trace = QueryTrace.start(queryListeners, sql, params);
+        Connection connection = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            connection = getReadConnection();
+            trace.connected();
+            ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            trace.prepared();
+            if (fetchSize != 0) {
+                ps.setFetchSize(fetchSize);
+            }
+            this.setParameters(ps, sql, params);
+            rs = ps.executeQuery();
+            trace.executed();
+        } catch (Throwable e) {
+            new RowCursor<>(connection, ps, rs, rowType, trace).close(e);
+            throw new JdbcDataAccessException(e);
+        }
+
+        RowCursor<T> cursor = new RowCursor<>(connection, ps, rs, rowType, trace);
+        return StreamSupport.stream(cursor, false).onClose(cursor::close);
+    }
+
+    public <T> Page<T> page(SqlSelect sqlSelect, Class<T> elementType, Pageable pageable) {
+        return this.page(sqlSelect, ResultType.forList(elementType), pageable);
+    }
+
+    /**
+     * Query the rows of the page and the total rows.
+     * <p>
+     * The count query runs concurrently on another connection, outside a transaction and within
+     * {@link #concurrentCounts(int)}, otherwise after the page query. It is skipped when the total is cached or known
+     * from a page that is not full, a count that already started is left to finish rather than interrupted,
+     * interrupting a virtual thread in socket I/O closes the connection.
+     * <p>
+     * The limit of the sqlSelect is not changed.
+     *
+     * @param resultType list result type, e.g. {@code ResultType.forList(Account.class)}
+     */
+    public <T> Page<T> page(SqlSelect sqlSelect, ResultType<List<T>> resultType, Pageable pageable) {
+        String sql = sqlSelect.pageSql(pageable.offset(), pageable.size());
+        Object[] params = sqlSelect.params();
+        String countSql = sqlSelect.totalRowSql();
+        Object[] countParams = sqlSelect.countParams();
+        CountKey countKey = new CountKey(countSql, Arrays.asList(countParams));
+        // the page of a keyset seek does not start at the first row, its size tells nothing about the total
+        boolean seek = countParams.length != params.length;
+
+        Long cachedTotal = cachedCount(countKey);
+        Semaphore permits = this.countPermits;
+        if (cachedTotal != null || inTransaction() || !permits.tryAcquire()) {
+            List<T> rows = this.query(sql, params, resultType);
+            Long total = seek ? null : knownTotal(pageable, rows);
+            if (total == null) {
+                total = cachedTotal != null ? cachedTotal : this.count(countKey);
+            }
+            return new Page<>(rows, total, pageable);
+        }
+
+        boolean primary = readsFromPrimary();
+        FutureTask<Long> countTask = new FutureTask<>(() -> this.routed(primary, () -> this.count(countKey)));
+        // released by the thread, a task cancelled before it runs does not run its callable
+        Thread.ofVirtual().name("sjsql-page-count").start(() -> {
+            try {
+                countTask.run();
+            } finally {
+                permits.release();
+            }
+        });
+        List<T> rows;
+        try {
+            rows = this.query(sql, params, resultType);
+        } catch (RuntimeException e) {
+            countTask.cancel(false);
+            throw e;
+        }
+
+        Long total = seek ? null : knownTotal(pageable, rows);
+        if (total != null) {
+            countTask.cancel(false);
+            return new Page<>(rows, total, pageable);
+        }
+
+        try {
+            return new Page<>(rows, countTask.get(), pageable);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            countTask.cancel(false);
+            throw new JdbcDataAccessException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof JdbcDataAccessException ex) {
+                throw ex;
+            }
+            throw new JdbcDataAccessException(e.getCause());
+        }
+    }
+
+    /**
+     * total rows known without counting, when the page is not full.
+     */
+    private static Long knownTotal(Pageable pageable, List<?> rows) {
+        if (rows.size() < pageable.size() && (!rows.isEmpty() || pageable.offset() == 0)) {
+            return (long) pageable.offset() + rows.size();
+        }
+        return null;
+    }
+
+    private long count(CountKey countKey) {
+        Long total = this.queryForObject(countKey.sql(), countKey.params().toArray(), Long.class);
+        if (total == null) {
+            total = 0L;
+        }
+        if (countCacheTtlNanos > 0) {
+            if (countCache.size() >= MAX_COUNT_CACHE_SIZE) {
+                long now = System.nanoTime();
+                countCache.values().removeIf(cached -> cached.expiresAtNanos() - now <= 0);
+            }
+            if (countCache.size() < MAX_COUNT_CACHE_SIZE) {
+                countCache.put(countKey, new CachedCount(total, System.nanoTime() + countCacheTtlNanos));
+            }
+        }
+        return total;
+    }
+
+    private Long cachedCount(CountKey countKey) {
+        if (countCacheTtlNanos <= 0) {
+            return null;
+        }
+        CachedCount cached = countCache.get(countKey);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAtNanos() - System.nanoTime() <= 0) {
+            countCache.remove(countKey, cached);
+            return null;
+        }
+        return cached.total();
+    }
+
+    /**
+     * Query one page of a keyset select, see {@link SqlSelect#keyset(String...)}.
+     */
+    public <T> KeysetPage<T> queryForKeysetPage(SqlSelect sqlSelect, Class<T> elementType) {
+        List<T> rows = this.queryForList(sqlSelect.toSql(), sqlSelect.params(), elementType);
+        return sqlSelect.keysetPage(rows);
+    }
+
+    /**
+     * Walk all rows of a keyset select page by page, every page seeks after the last row of the previous page.
+     * <p>
+     * The sqlSelect is advanced by {@link SqlSelect#seekAfter(Object...)} while iterating.
+     */
+    public <T> Iterator<KeysetPage<T>> keysetIterator(SqlSelect sqlSelect, Class<T> elementType) {
+        return new Iterator<>() {
+            private KeysetPage<T> next = queryForKeysetPage(sqlSelect, elementType);
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public KeysetPage<T> next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+
+                KeysetPage<T> page = next;
+                next = null;
+                if (page.hasNext()) {
+                    sqlSelect.seekAfter(page.nextKey());
+                    next = queryForKeysetPage(sqlSelect, elementType);
+                    if (next.rows().isEmpty()) {
+                        next = null;
+                    }
+                }
+                return page;
+            }
+        };
+    }
+
     /**
      * INSERT、UPDATE、DELETE.
      */
     public int update(String sql, Object[] params) {
-        return this.execute(sql, ps -> {
-            this.setParameters(ps, params);
-            return ps.executeUpdate();
+        return this.execute(sql, params, null, false, (ps, trace) -> {
+            this.setParameters(ps, sql, params);
+            int result = ps.executeUpdate();
+            trace.executed();
+            trace.rows(result);
+            return result;
         });
     }
 
@@ -83,22 +609,25 @@ public class SimpleJdbcClient {
         GeneratedKey keyHolder = new GeneratedKey();
         keyHolder.setKeyColumnNames(keyColumnNames);
 
-        return this.execute(sql, keyHolder, ps -> {
-            this.setParameters(ps, params);
+        return this.execute(sql, params, keyHolder, false, (ps, trace) -> {
+            this.setParameters(ps, sql, params);
             int result = ps.executeUpdate();
+            trace.executed();
+            trace.rows(result);
             if (result != 1) {
                 throw new JdbcDataAccessException("insert exception. affected rows is not 1 but: " + result);
             }
 
-            ResultSet rs = ps.getGeneratedKeys();
-            ResultSetMetaData rsmd = rs.getMetaData();
-            int columnCount = rsmd.getColumnCount();
+            try (ResultSet rs = ps.getGeneratedKeys()) {
+                ResultSetMetaData rsmd = rs.getMetaData();
+                int columnCount = rsmd.getColumnCount();
 
-            Map<String, Object> keyValues = keyHolder.keyValues();
-            while (rs.next()) {
-                for (int i = 1; i <= columnCount; ++i) {
-                    String column = rsmd.getColumnLabel(i);
-                    keyValues.putIfAbsent(column, rs.getObject(i));
+                Map<String, Object> keyValues = keyHolder.keyValues();
+                while (rs.next()) {
+                    for (int i = 1; i <= columnCount; ++i) {
+                        String column = rsmd.getColumnLabel(i);
+                        keyValues.putIfAbsent(column, rs.getObject(i));
+                    }
                 }
             }
 
@@ -106,6 +635,140 @@ public class SimpleJdbcClient {
         });
     }
 
+    /**
+     * Run the statements of the insert with their params, {@link SqlInsert#toSqlList()} and
+     * {@link SqlInsert#batchParams()} by index. The consecutive statements of the same sql are one batch, e.g. the
+     * multi-row statements but the last smaller one. The statements run in one transaction, or in the transaction
+     * of the current thread.
+     *
+     * @return the affected rows of every statement, see {@link SqlInsert#upsertOutcomes(int[])}
+     */
+    public int[] insert(SqlInsert sqlInsert) {
+        List<String> sqls = sqlInsert.toSqlList();
+        Object[][] batchParams = sqlInsert.batchParams();
+        return this.inOneTransaction(() -> {
+            int[] rowsAffected = new int[sqls.size()];
+            for (int[] group : sqlGroups(sqls)) {
+                Object[][] params = Arrays.copyOfRange(batchParams, group[0], group[0] + group[1]);
+                int[] result = this.batchUpdate(sqls.get(group[0]), params);
+                System.arraycopy(result, 0, rowsAffected, group[0], group[1]);
+            }
+            return rowsAffected;
+        });
+    }
+
+    /**
+     * Insert like {@link #insert(SqlInsert)} and return the generated keys of every row, in the order of the rows,
+     * e.g. for {@link SqlInsert#applyGeneratedKeys(String, List)}.
+     */
+    public List<GeneratedKey> batchInsert(SqlInsert sqlInsert, List<String> keyColumnNames) {
+        List<String> sqls = sqlInsert.toSqlList();
+        Object[][] batchParams = sqlInsert.batchParams();
+        List<Integer> statementRows = sqlInsert.statementRows();
+        return this.inOneTransaction(() -> {
+            List<GeneratedKey> keys = new ArrayList<>();
+            for (int[] group : sqlGroups(sqls)) {
+                Object[][] params = Arrays.copyOfRange(batchParams, group[0], group[0] + group[1]);
+                keys.addAll(this.batchInsert(sqls.get(group[0]), params, params.length, keyColumnNames,
+                    statementRows.get(group[0])));
+            }
+            return keys;
+        });
+    }
+
+    /**
+     * the runs of consecutive equal sqls, as start index and length.
+     */
+    private static List<int[]> sqlGroups(List<String> sqls) {
+        List<int[]> groups = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= sqls.size(); i++) {
+            if (i == sqls.size() || !sqls.get(i).equals(sqls.get(start))) {
+                groups.add(new int[]{start, i - start});
+                start = i;
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * run the operation in a transaction, or in the transaction of the current thread.
+     */
+    private <T> T inOneTransaction(TransactionOperation<T> operation) {
+        if (!inTransaction()) {
+            return this.transaction(operation);
+        }
+        try {
+            return operation.execute();
+        } catch (SQLException e) {
+            throw new JdbcDataAccessException(e);
+        }
+    }
+
+    public List<GeneratedKey> batchInsert(String sql, Object[][] batchParams, List<String> keyColumnNames) {
+        return this.batchInsert(sql, batchParams, batchParams == null ? 0 : batchParams.length, keyColumnNames);
+    }
+
+    /**
+     * Batch insert and return the generated keys of every row, in the order of batchParams.
+     */
+    public List<GeneratedKey> batchInsert(String sql, Object[][] batchParams, int batchSize,
+        List<String> keyColumnNames) {
+        return this.batchInsert(sql, batchParams, batchSize, keyColumnNames, 1);
+    }
+
+    /**
+     * @param statementRows the rows inserted by every statement, more than 1 for multi-row statements
+     */
+    private List<GeneratedKey> batchInsert(String sql, Object[][] batchParams, int batchSize,
+        List<String> keyColumnNames, int statementRows) {
+        if (batchParams == null || batchParams.length == 0) {
+            return new ArrayList<>();
+        }
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than 0");
+        }
+
+        GeneratedKey keyOptions = new GeneratedKey();
+        keyOptions.setKeyColumnNames(keyColumnNames);
+        return this.execute(sql, null, keyOptions, false, (ps, trace) -> {
+            StatementBinder binder = ParameterBinders.forSql(sql);
+            List<GeneratedKey> keys = new ArrayList<>(batchParams.length);
+            for (int i = 0; i < batchParams.length; i++) {
+                binder.bind(ps, batchParams[i]);
+                ps.addBatch();
+
+                if ((i + 1) % batchSize == 0 || i == batchParams.length - 1) {
+                    ps.executeBatch();
+                    ps.clearBatch();
+                    int chunkKeys = keys.size();
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        ResultSetMetaData rsmd = rs.getMetaData();
+                        int columnCount = rsmd.getColumnCount();
+                        while (rs.next()) {
+                            GeneratedKey keyHolder = new GeneratedKey();
+                            keyHolder.setKeyColumnNames(keyColumnNames);
+                            for (int j = 1; j <= columnCount; j++) {
+                                keyHolder.keyValues().putIfAbsent(rsmd.getColumnLabel(j), rs.getObject(j));
+                            }
+                            keys.add(keyHolder);
+                        }
+                    }
+                    // a driver returning the keys of the last statement only, or none, would shift the keys
+                    long chunkRows = (long) (i % batchSize + 1) * statementRows;
+                    if (keys.size() - chunkKeys != chunkRows) {
+                        throw new JdbcDataAccessException("The number of generated keys " + (keys.size() - chunkKeys)
+                            + " does not match the rows " + chunkRows + " of the batch");
+                    }
+                }
+            }
+            trace.executed();
+            trace.rows((long) batchParams.length * statementRows);
+            return keys;
+        });
+    }
+
     public int[] batchUpdate(String sql, Object[][] batchParams) {
         return this.batchUpdate(sql, batchParams, batchParams.length);
     }
@@ -119,13 +782,11 @@ public class SimpleJdbcClient {
             throw new IllegalArgumentException("Batch size must be greater than 0");
         }
 
-        return this.execute(sql, ps -> {
+        return this.execute(sql, null, null, false, (ps, trace) -> {
+            StatementBinder binder = ParameterBinders.forSql(sql);
             List<Integer> rowsAffected = new ArrayList<>();
             for (int i = 0; i < batchParams.length; i++) {
-                Object[] params = batchParams[i];
-                for (int j = 0; j < params.length; j++) {
-                    ps.setObject(j + 1, params[j]);
-                }
+                binder.bind(ps, batchParams[i]);
                 ps.addBatch();
 
                 if ((i + 1) % batchSize == 0 || i == batchParams.length - 1) {
@@ -136,16 +797,205 @@ public class SimpleJdbcClient {
                     ps.clearBatch();
                 }
             }
+            trace.executed();
+            trace.rows(rowsAffected.stream().mapToInt(Integer::intValue).filter(rows -> rows > 0).sum());
             return rowsAffected.stream().mapToInt(Integer::intValue).toArray();
         });
     }
 
+    /**
+     * Non-transactional bulk load, batchParams are split into chunks of batchSize rows and the chunks are executed
+     * concurrently on up to parallelism connections. Every chunk is committed on its own.
+     */
+    public ParallelBatchResult parallelBatchUpdate(String sql, Object[][] batchParams, int batchSize,
+        int parallelism) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than 0");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be greater than 0");
+        }
+        if (inTransaction()) {
+            throw new IllegalStateException("Parallel batch update cannot run in a transaction");
+        }
+        if (batchParams == null || batchParams.length == 0) {
+            return new ParallelBatchResult(new int[0], List.of());
+        }
+
+        int[] rowsAffected = new int[batchParams.length];
+        List<ChunkFailure> failures = Collections.synchronizedList(new ArrayList<>());
+        int chunks = (batchParams.length + batchSize - 1) / batchSize;
+        AtomicInteger nextChunk = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < Math.min(parallelism, chunks); worker++) {
+                executor.execute(() -> {
+                    int chunk;
+                    while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                        int fromRow = chunk * batchSize;
+                        int toRow = Math.min(fromRow + batchSize, batchParams.length);
+                        try {
+                            int[] results = this.batchUpdate(sql, Arrays.copyOfRange(batchParams, fromRow, toRow));
+                            System.arraycopy(results, 0, rowsAffected, fromRow, results.length);
+                        } catch (Throwable e) {
+                            Arrays.fill(rowsAffected, fromRow, toRow, Statement.EXECUTE_FAILED);
+                            if (e.getCause() instanceof BatchUpdateException batchEx
+                                && batchEx.getUpdateCounts() != null) {
+                                int[] counts = batchEx.getUpdateCounts();
+                                System.arraycopy(counts, 0, rowsAffected, fromRow,
+                                    Math.min(counts.length, toRow - fromRow));
+                            }
+                            failures.add(new ChunkFailure(chunk, fromRow, toRow, e));
+                        }
+                    }
+                });
+            }
+        }
+
+        List<ChunkFailure> sortedFailures = new ArrayList<>(failures);
+        sortedFailures.sort((a, b) -> Integer.compare(a.chunk(), b.chunk()));
+        return new ParallelBatchResult(rowsAffected, List.copyOf(sortedFailures));
+    }
+
+    public <T> long bulkLoad(String table, Iterator<T> entities) {
+        return this.bulkLoad(table, null, entities, DEFAULT_BULK_LOAD_BATCH_SIZE);
+    }
+
+    public <T> long bulkLoad(String table, Iterator<T> entities, int batchSize) {
+        return this.bulkLoad(table, null, entities, batchSize);
+    }
+
+    public <T> long bulkLoad(String table, List<String> columns, Iterator<T> entities) {
+        return this.bulkLoad(table, columns, entities, DEFAULT_BULK_LOAD_BATCH_SIZE);
+    }
+
+    /**
+     * Load the entities into the table by the native loader of the database, {@code LOAD DATA LOCAL INFILE} of
+     * MySQL Connector/J with {@code allowLoadLocalInfile=true}, or {@code CSVREAD} of embedded H2. The entities are
+     * serialized to CSV while MySQL reads them, so the memory does not grow with the number of rows. H2 reads a file,
+     * the entities are written to a temporary file and read in chunks of batchSize rows, so the file does not grow
+     * with the number of rows either.
+     * <p>
+     * Without a native loader the entities are inserted in batches of batchSize rows. Out of a transaction every
+     * batch is committed on its own.
+     *
+     * @param columns the columns to load, null for all persistent fields of the entities, or the keys of the first
+     *                map. The fields of an entity that are not columns are not loaded.
+     * @return the number of rows loaded
+     */
+    public <T> long bulkLoad(String table, List<String> columns, Iterator<T> entities, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be greater than 0");
+        }
+        if (columns != null && columns.isEmpty()) {
+            throw new IllegalArgumentException("Columns cannot be empty");
+        }
+        if (!entities.hasNext()) {
+            return 0;
+        }
+
+        BulkLoad bulkLoad = new BulkLoad(table, columns, entities);
+        Long rows = switch (dialect()) {
+            case MYSQL -> loadData(bulkLoad);
+            case H2 -> csvRead(bulkLoad, batchSize);
+            default -> null;
+        };
+        return rows != null ? rows : batchLoad(bulkLoad, batchSize);
+    }
+
+    /**
+     * @return null when the driver cannot load local data
+     */
+    private Long loadData(BulkLoad bulkLoad) {
+        InputStream csv = bulkLoad.csv();
+        try {
+            return this.execute(bulkLoad.loadDataSql(), statement -> {
+                if (!BulkLoad.setMysqlLocalInfile(statement, csv)) {
+                    return null;
+                }
+                return statement.executeLargeUpdate(bulkLoad.loadDataSql());
+            });
+        } catch (JdbcDataAccessException e) {
+            if (bulkLoad.started()) {
+                throw e;
+            }
+            // local infile is disabled before any row is read
+            return null;
+        }
+    }
+
+    /**
+     * @return null when the H2 database is not embedded or the user may not read files, probed before any entity is
+     * read
+     */
+    private Long csvRead(BulkLoad bulkLoad, int batchSize) {
+        Path csvFile = null;
+        try {
+            csvFile = Files.createTempFile("sjsql-bulk-load", ".csv");
+            Path probeFile = csvFile;
+            boolean readable = withMetaData(metaData -> {
+                String url = metaData.getURL();
+                if (url == null || url.contains(":tcp:") || url.contains(":ssl:")) {
+                    return false;
+                }
+                // CSVREAD needs admin rights
+                try (Statement statement = metaData.getConnection().createStatement()) {
+                    statement.executeQuery(bulkLoad.csvProbeSql(probeFile)).close();
+                    return true;
+                } catch (SQLException e) {
+                    return false;
+                }
+            });
+            if (!readable) {
+                return null;
+            }
+
+            long rows = 0;
+            while (bulkLoad.hasNext()) {
+                try (InputStream csv = bulkLoad.csv(batchSize)) {
+                    Files.copy(csv, csvFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+                rows += this.update(bulkLoad.csvReadSql(csvFile), new Object[0]);
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (csvFile != null) {
+                try {
+                    Files.deleteIfExists(csvFile);
+                } catch (IOException e) {
+                    // Ignore
+                }
+            }
+        }
+    }
+
+    private long batchLoad(BulkLoad bulkLoad, int batchSize) {
+        String sql = bulkLoad.insertSql();
+        Object[][] batchParams = new Object[batchSize][];
+        long rows = 0;
+        int size = 0;
+        while (bulkLoad.hasNext()) {
+            batchParams[size++] = bulkLoad.nextParams();
+            if (size == batchSize || !bulkLoad.hasNext()) {
+                int[] results = this.batchUpdate(sql, size == batchSize ? batchParams
+                    : Arrays.copyOf(batchParams, size));
+                for (int result : results) {
+                    rows += result == Statement.SUCCESS_NO_INFO ? 1 : Math.max(result, 0);
+                }
+                Arrays.fill(batchParams, null);
+                size = 0;
+            }
+        }
+        return rows;
+    }
+
     public int[] executeBatch(String... sqls) {
         if (sqls == null || sqls.length == 0) {
             return new int[0];
         }
 
-        return this.execute(statement -> {
+        return this.execute(String.join(";", sqls), statement -> {
             try {
                 for (String sql : sqls) {
                     statement.addBatch(sql);
@@ -158,7 +1008,7 @@ public class SimpleJdbcClient {
     }
 
     public boolean execute(String sql) {
-        return this.execute(statement -> {
+        return this.execute(sql, statement -> {
             try {
                 return statement.execute(sql);
             } catch (SQLException e) {
@@ -167,42 +1017,55 @@ public class SimpleJdbcClient {
         });
     }
 
-    private <R> R execute(StatementHandler<R> handler) {
+    private <R> R execute(String sql, StatementHandler<R> handler) {
+        QueryTrace trace = QueryTrace.start(queryListeners, sql, null);
+        Throwable error = null;
         Connection connection = null;
         try {
             connection = getConnection();
+            trace.connected();
             try (Statement statement = connection.createStatement()) {
-                return handler.handle(statement);
+                trace.prepared();
+                R result = cancellable(statement, handler);
+                trace.executed();
+                return result;
             }
         } catch (SQLException e) {
+            error = e;
             throw new JdbcDataAccessException(e);
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
         } finally {
             close(connection);
+            trace.finish(error);
+            markWrite();
+            invalidateResultCache(sql);
         }
     }
 
-    private <T> T execute(String sql, PreparedStatementHandler<T> handler) {
-        return this.execute(sql, null, handler);
-    }
-
-    private <T> T execute(String sql, GeneratedKey keyHolder, PreparedStatementHandler<T> handler) {
+    /**
+     * @param read whether the statement only reads, reads go to the replicas
+     */
+    private <T> T execute(String sql, Object[] params, GeneratedKey keyHolder, boolean read,
+        PreparedStatementHandler<T> handler) {
+        QueryTrace trace = QueryTrace.start(queryListeners, sql, params);
+        Throwable error = null;
         Connection connection = null;
         try {
-            connection = getConnection();
+            connection = read ? getReadConnection() : getConnection();
+            trace.connected();
+            final StatementCache statementCache = statementCacheThreadLocal.get();
+            if (statementCache != null) {
+                return executeCached(connection, statementCache, sql, keyHolder, trace, handler);
+            }
+
             PreparedStatement ps = null;
             try {
-                if (keyHolder != null) {
-                    List<String> primaryKeyColumnNames = keyHolder.getKeyColumnNames();
-                    if (primaryKeyColumnNames != null && !primaryKeyColumnNames.isEmpty()) {
-                        ps = connection.prepareStatement(sql, primaryKeyColumnNames.toArray(new String[]{}));
-                    } else {
-                        ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-                    }
-                } else {
-                    ps = connection.prepareStatement(sql);
-                }
-
-                return handler.handle(ps);
+                ps = prepareStatement(connection, sql, keyHolder);
+                trace.prepared();
+                PreparedStatement prepared = ps;
+                return cancellable(prepared, statement -> handler.handle(prepared, trace));
             } finally {
                 if (ps != null) {
                     ps.close();
@@ -210,19 +1073,103 @@ public class SimpleJdbcClient {
             }
 
         } catch (SQLException ex) {
+            error = ex;
             throw new JdbcDataAccessException(ex);
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
         } finally {
             close(connection);
+            trace.finish(error);
+            if (!read) {
+                markWrite();
+                invalidateResultCache(sql);
+            }
         }
     }
 
+    /**
+     * drop the cached results of the table written by the statement, all results when the table is unknown.
+     */
+    private void invalidateResultCache(String sql) {
+        QueryResultCache cache = this.resultCache;
+        if (cache == null || SqlTables.isQuery(sql)) {
+            return;
+        }
+
+        for (String statement : sql.split(";")) {
+            if (statement.isBlank() || SqlTables.isQuery(statement)) {
+                continue;
+            }
+            String table = SqlTables.modifiedTable(statement);
+            if (table == null) {
+                cache.invalidateAll();
+            } else {
+                cache.invalidate(table);
+            }
+
+            Set<String> writes = transactionWrites.get();
+            if (writes != null) {
+                writes.add(table == null ? "" : table);
+            }
+        }
+    }
+
+    private <T> T executeCached(Connection connection, StatementCache statementCache, String sql,
+        GeneratedKey keyHolder, QueryTrace trace, PreparedStatementHandler<T> handler) throws SQLException {
+        StatementCache.Key key = keyHolder == null
+            ? new StatementCache.Key(sql, null, false)
+            : new StatementCache.Key(sql, keyHolder.getKeyColumnNames(), true);
+
+        PreparedStatement ps = statementCache.get(key);
+        if (ps != null) {
+            statementCacheHits.increment();
+        } else {
+            statementCacheMisses.increment();
+            ps = prepareStatement(connection, sql, keyHolder);
+            statementCache.put(key, ps);
+        }
+        trace.prepared();
+
+        try {
+            PreparedStatement cached = ps;
+            return cancellable(cached, statement -> handler.handle(cached, trace));
+        } finally {
+            statementCache.release(ps);
+        }
+    }
+
+    private PreparedStatement prepareStatement(Connection connection, String sql, GeneratedKey keyHolder)
+        throws SQLException {
+        if (keyHolder == null) {
+            return connection.prepareStatement(sql);
+        }
+
+        List<String> primaryKeyColumnNames = keyHolder.getKeyColumnNames();
+        if (primaryKeyColumnNames != null && !primaryKeyColumnNames.isEmpty()) {
+            return connection.prepareStatement(sql, primaryKeyColumnNames.toArray(new String[]{}));
+        }
+        return connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+    }
+
     public <T> T transaction(TransactionOperation<T> transactionOperation) {
         Connection connection = null;
         Boolean autoCommit = null;
+        StatementCache statementCache = null;
+        boolean tracksWrites = false;
         try {
             connection = getConnection();
             autoCommit = connection.getAutoCommit();
             connectionThreadLocal.set(connection);
+            if (statementCacheSize > 0 && statementCacheThreadLocal.get() == null) {
+                statementCache = new StatementCache(statementCacheSize);
+                statementCacheThreadLocal.set(statementCache);
+            }
+
+            if (transactionWrites.get() == null) {
+                transactionWrites.set(new HashSet<>());
+                tracksWrites = true;
+            }
 
             connection.setAutoCommit(false);
 
@@ -243,6 +1190,16 @@ public class SimpleJdbcClient {
             throw new JdbcDataAccessException(e);
         } finally {
             connectionThreadLocal.remove();
+            if (statementCache != null) {
+                statementCacheThreadLocal.remove();
+                statementCache.close();
+            }
+            if (tracksWrites) {
+                Set<String> writes = transactionWrites.get();
+                transactionWrites.remove();
+                // other threads may have cached the rows before commit
+                invalidateResultCache(writes);
+            }
             if (connection != null) {
                 try {
                     if (autoCommit != null) {
@@ -257,8 +1214,34 @@ public class SimpleJdbcClient {
         }
     }
 
+    private void invalidateResultCache(Set<String> tables) {
+        QueryResultCache cache = this.resultCache;
+        if (cache == null || tables.isEmpty()) {
+            return;
+        }
+        if (tables.contains("")) {
+            cache.invalidateAll();
+            return;
+        }
+        tables.forEach(cache::invalidate);
+    }
+
+    private <R> R withMetaData(MetaDataHandler<R> handler) {
+        Connection connection = getConnection();
+        try {
+            return handler.handle(connection.getMetaData());
+        } catch (SQLException e) {
+            throw new JdbcDataAccessException(e);
+        } finally {
+            close(connection);
+        }
+    }
+
     private void close(Connection connection) {
         if (connection != null && connectionThreadLocal.get() == null) {
+            if (replicaSet != null) {
+                replicaSet.release(connection);
+            }
             try {
                 connection.close();
             } catch (SQLException e) {
@@ -267,6 +1250,77 @@ public class SimpleJdbcClient {
         }
     }
 
+    private final class RowCursor<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final Connection connection;
+        private final PreparedStatement ps;
+        private final ResultSet rs;
+        private final ResultType<T> rowType;
+        private final QueryTrace trace;
+        private RowMapper<T> rowMapper;
+        private boolean closed;
+
+        private RowCursor(Connection connection, PreparedStatement ps, ResultSet rs, ResultType<T> rowType,
+            QueryTrace trace) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.connection = connection;
+            this.ps = ps;
+            this.rs = rs;
+            this.rowType = rowType;
+            this.trace = trace;
+            trace.rows(0);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (closed) {
+                return false;
+            }
+            T row;
+            try {
+                if (!rs.next()) {
+                    close();
+                    return false;
+                }
+                if (rowMapper == null) {
+                    rowMapper = rowType.rowMapper(rs);
+                }
+                row = rowMapper.mapRow(rs);
+                trace.addRow();
+            } catch (Throwable e) {
+                close(e);
+                throw new JdbcDataAccessException(e);
+            }
+
+            action.accept(row);
+            return true;
+        }
+
+        private void close() {
+            close(null);
+        }
+
+        private void close(Throwable error) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (rs != null) {
+                    rs.close();
+                }
+                if (ps != null) {
+                    ps.close();
+                }
+            } catch (SQLException e) {
+                // Ignore
+            } finally {
+                SimpleJdbcClient.this.close(connection);
+                trace.finish(error);
+            }
+        }
+    }
+
     public static class GeneratedKey {
 
         private final Map<String, Object> keyValues = new LinkedHashMap<>();
@@ -305,20 +1359,30 @@ public class SimpleJdbcClient {
         }
     }
 
+    public record StatementCacheStats(long hits, long misses) {
+
+    }
+
+    private record CountKey(String sql, List<Object> params) {
+
+    }
+
+    private record CachedCount(long total, long expiresAtNanos) {
+
+    }
+
     public interface TransactionOperation<T> {
 
         T execute() throws SQLException;
     }
 
-    private void setParameters(PreparedStatement ps, Object[] params) throws SQLException {
-        for (int i = 0; i < params.length; i++) {
-            ps.setObject(i + 1, params[i]);
-        }
+    private void setParameters(PreparedStatement ps, String sql, Object[] params) throws SQLException {
+        ParameterBinders.forSql(sql).bind(ps, params);
     }
 
     interface PreparedStatementHandler<T> {
 
-        T handle(PreparedStatement ps) throws SQLException;
+        T handle(PreparedStatement ps, QueryTrace trace) throws SQLException;
     }
 
     interface StatementHandler<T> {
@@ -326,6 +1390,11 @@ public class SimpleJdbcClient {
         T handle(Statement ps) throws SQLException;
     }
 
+    interface MetaDataHandler<T> {
+
+        T handle(DatabaseMetaData metaData) throws SQLException;
+    }
+
     static class JdbcConnectionException extends RuntimeException {
 
         public JdbcConnectionException(Throwable e) {
@@ -0,0 +1,263 @@
+package io.github.reader.sjsql.jdbc;
+
+import javax.sql.DataSource;
+
+import java.lang.System.Logger.Level;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link QueryListener} that logs the statements slower than the threshold.
+ * <p>
+ * Every fingerprint is logged at most once per interval, the suppressed executions are counted into the next log.
+ * With {@link #explain(DataSource)}, the plan of a slow query is captured by {@code EXPLAIN} on a separate connection
+ * of the DataSource, outside of the executing thread and its transaction.
+ * <pre>{@code
+ * SlowQueryLogger slowQueryLogger = new SlowQueryLogger(Duration.ofMillis(500))
+ *     .redactor((sql, params) -> new Object[params.length])
+ *     .explain(dataSource);
+ * jdbcClient.addQueryListener(slowQueryLogger);
+ * }</pre>
+ */
+public class SlowQueryLogger implements QueryListener, AutoCloseable {
+
+    private static final System.Logger logger = System.getLogger(SlowQueryLogger.class.getName());
+
+    private static final int MAX_FINGERPRINTS = 10_000;
+    private static final int MAX_CONCURRENT_EXPLAINS = 2;
+
+    private final long thresholdNanos;
+    private final LongSupplier nanoClock;
+    private long intervalNanos = TimeUnit.MINUTES.toNanos(1);
+    private ParameterRedactor redactor = (sql, params) -> params;
+    private Consumer<SlowQuery> sink = SlowQueryLogger::log;
+    private DataSource explainDataSource;
+    private ExecutorService explainExecutor;
+    private final Semaphore explainPermits = new Semaphore(MAX_CONCURRENT_EXPLAINS);
+    private final Map<String, Capture> captures = new ConcurrentHashMap<>(64);
+
+    public SlowQueryLogger(Duration threshold) {
+        this(threshold, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock the time of the interval between two logs, {@link System#nanoTime()} by default
+     */
+    SlowQueryLogger(Duration threshold, LongSupplier nanoClock) {
+        if (threshold.isNegative()) {
+            throw new IllegalArgumentException("Threshold must not be negative");
+        }
+        this.thresholdNanos = threshold.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * the minimum interval between two logs of the same fingerprint, default 1 minute.
+     */
+    public SlowQueryLogger interval(Duration interval) {
+        if (interval.isNegative()) {
+            throw new IllegalArgumentException("Interval must not be negative");
+        }
+        this.intervalNanos = interval.toNanos();
+        return this;
+    }
+
+    /**
+     * mask the bound parameters before they are logged, the parameters of EXPLAIN are not redacted.
+     */
+    public SlowQueryLogger redactor(ParameterRedactor redactor) {
+        this.redactor = redactor;
+        return this;
+    }
+
+    /**
+     * where the slow queries go, logged by {@link System.Logger} at WARNING by default.
+     */
+    public SlowQueryLogger sink(Consumer<SlowQuery> sink) {
+        this.sink = sink;
+        return this;
+    }
+
+    /**
+     * capture the plan of SELECT statements by EXPLAIN, on the connections of the dataSource.
+     */
+    public SlowQueryLogger explain(DataSource dataSource) {
+        this.explainDataSource = dataSource;
+        if (this.explainExecutor == null) {
+            this.explainExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        }
+        return this;
+    }
+
+    @Override
+    public void onQuery(QueryEvent event) {
+        long elapsedNanos = event.totalNanos();
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+
+        long suppressed = acquire(event.fingerprint(), nanoClock.getAsLong());
+        if (suppressed < 0) {
+            return;
+        }
+
+        Object[] params = event.params() == null ? null : redactor.redact(event.sql(), event.params().clone());
+        SlowQuery slowQuery = new SlowQuery(event.fingerprint(), event.sql(), params, elapsedNanos, event.rows(),
+            suppressed, event.error(), null);
+
+        if (explainDataSource == null || !isExplainable(event.sql()) || !explainPermits.tryAcquire()) {
+            publish(slowQuery);
+            return;
+        }
+
+        try {
+            explainExecutor.execute(() -> {
+                try {
+                    publish(slowQuery.withPlan(explain(event.sql(), event.params())));
+                } finally {
+                    explainPermits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            explainPermits.release();
+            publish(slowQuery);
+        }
+    }
+
+    /**
+     * @return the executions suppressed since the last log, -1 when this one is suppressed too
+     */
+    private long acquire(String fingerprint, long nowNanos) {
+        if (captures.size() >= MAX_FINGERPRINTS && !captures.containsKey(fingerprint)) {
+            captures.clear();
+        }
+
+        Capture capture = captures.computeIfAbsent(fingerprint, key -> new Capture());
+        synchronized (capture) {
+            if (capture.logged && nowNanos - capture.loggedNanos < intervalNanos) {
+                capture.suppressed++;
+                return -1;
+            }
+            long suppressed = capture.suppressed;
+            capture.logged = true;
+            capture.loggedNanos = nowNanos;
+            capture.suppressed = 0;
+            return suppressed;
+        }
+    }
+
+    private String explain(String sql, Object[] params) {
+        try (Connection connection = explainDataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql)) {
+            if (params != null) {
+                for (int i = 0; i < params.length; i++) {
+                    ps.setObject(i + 1, params[i]);
+                }
+            }
+
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = ps.executeQuery()) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                int columnCount = metaData.getColumnCount();
+                while (rs.next()) {
+                    if (!plan.isEmpty()) {
+                        plan.append('\n');
+                    }
+                    for (int i = 1; i <= columnCount; i++) {
+                        if (columnCount > 1) {
+                            plan.append(i > 1 ? ", " : "").append(metaData.getColumnLabel(i)).append('=');
+                        }
+                        plan.append(rs.getObject(i));
+                    }
+                }
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private void publish(SlowQuery slowQuery) {
+        try {
+            sink.accept(slowQuery);
+        } catch (RuntimeException e) {
+            // Ignore
+        }
+    }
+
+    private static boolean isExplainable(String sql) {
+        String statement = sql.stripLeading();
+        return statement.regionMatches(true, 0, "SELECT", 0, 6) || statement.regionMatches(true, 0, "WITH", 0, 4);
+    }
+
+    private static void log(SlowQuery slowQuery) {
+        logger.log(Level.WARNING, slowQuery.toString());
+    }
+
+    @Override
+    public void close() {
+        if (explainExecutor != null) {
+            explainExecutor.close();
+        }
+    }
+
+    public interface ParameterRedactor {
+
+        Object[] redact(String sql, Object[] params);
+    }
+
+    /**
+     * @param params     the redacted parameters, null for batches
+     * @param suppressed the slow executions of the fingerprint not logged since the last log
+     * @param plan       the result of EXPLAIN, null when not captured
+     */
+    public record SlowQuery(String fingerprint, String sql, Object[] params, long elapsedNanos, long rows,
+                            long suppressed, Throwable error, String plan) {
+
+        public long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        }
+
+        SlowQuery withPlan(String plan) {
+            return new SlowQuery(fingerprint, sql, params, elapsedNanos, rows, suppressed, error, plan);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("slow query ").append(elapsedMillis()).append("ms")
+                .append(", rows: ").append(rows)
+                .append(", suppressed: ").append(suppressed)
+                .append(", fingerprint: ").append(fingerprint)
+                .append(", sql: ").append(sql)
+                .append(", params: ").append(Arrays.toString(params));
+            if (error != null) {
+                sb.append(", error: ").append(error);
+            }
+            if (plan != null) {
+                sb.append(", plan:\n").append(plan);
+            }
+            return sb.toString();
+        }
+    }
+
+    private static final class Capture {
+
+        private boolean logged;
+        private long loggedNanos;
+        private long suppressed;
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.reader.sjsql.jdbc;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized sql, statements of the same shape have the same fingerprint.
+ * <p>
+ * Whitespace is collapsed, string and numeric literals are replaced by {@code ?}, {@code IN (?,?,?)} lists and
+ * multi-row {@code VALUES (?,?),(?,?)} are collapsed into {@code (?+)}.
+ * e.g. {@code SELECT * FROM account WHERE id IN (1, 2, 3) AND code = 'A'}
+ * is {@code SELECT * FROM account WHERE id IN (?+) AND code = ?}
+ */
+public final class SqlFingerprint {
+
+    private static final int MAX_CACHE_SIZE = 4096;
+    private static final Map<String, String> fingerprint_cache = new ConcurrentHashMap<>(256);
+
+    private static final Pattern LIST_PATTERN = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern ROWS_PATTERN = Pattern.compile("\\((\\?\\+?)\\)(?:\\s*,\\s*\\(\\?\\+?\\))+");
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        String fingerprint = fingerprint_cache.get(sql);
+        if (fingerprint == null) {
+            fingerprint = normalize(sql);
+            if (fingerprint_cache.size() < MAX_CACHE_SIZE) {
+                fingerprint_cache.putIfAbsent(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    private static String normalize(String sql) {
+        StringBuilder sb = new StringBuilder(sql.length());
+        int length = sql.length();
+        for (int i = 0; i < length; i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipString(sql, i);
+                sb.append('?');
+            } else if (Character.isDigit(c) && !isIdentifierEnd(sb)) {
+                while (i + 1 < length && (Character.isLetterOrDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                sb.append('?');
+            } else if (Character.isWhitespace(c)) {
+                if (!sb.isEmpty() && sb.charAt(sb.length() - 1) != ' ') {
+                    sb.append(' ');
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+
+        int end = sb.length();
+        while (end > 0 && (sb.charAt(end - 1) == ' ' || sb.charAt(end - 1) == ';')) {
+            end--;
+        }
+        sb.setLength(end);
+
+        String fingerprint = LIST_PATTERN.matcher(sb).replaceAll("(?+)");
+        return ROWS_PATTERN.matcher(fingerprint).replaceAll("(?+)");
+    }
+
+    /**
+     * index of the closing quote, quotes are escaped by {@code ''} or {@code \'}.
+     */
+    private static int skipString(String sql, int start) {
+        for (int i = start + 1; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i++;
+                } else {
+                    return i;
+                }
+            }
+        }
+        return sql.length() - 1;
+    }
+
+    private static boolean isIdentifierEnd(StringBuilder sb) {
+        if (sb.isEmpty()) {
+            return false;
+        }
+        char c = sb.charAt(sb.length() - 1);
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$' || c == '`';
+    }
+}
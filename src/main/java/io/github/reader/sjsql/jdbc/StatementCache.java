@@ -0,0 +1,69 @@
+package io.github.reader.sjsql.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LRU cache of prepared statements, scoped to one connection.
+ */
+final class StatementCache {
+
+    private final Map<Key, PreparedStatement> statements;
+
+    StatementCache(int maxSize) {
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+                if (size() > maxSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    PreparedStatement get(Key key) throws SQLException {
+        PreparedStatement ps = this.statements.get(key);
+        if (ps != null && ps.isClosed()) {
+            this.statements.remove(key);
+            return null;
+        }
+        return ps;
+    }
+
+    void put(Key key, PreparedStatement ps) {
+        PreparedStatement previous = this.statements.put(key, ps);
+        if (previous != null && previous != ps) {
+            closeQuietly(previous);
+        }
+    }
+
+    /**
+     * reset the statement so that it can be reused by the next execution.
+     */
+    void release(PreparedStatement ps) throws SQLException {
+        ps.clearParameters();
+        ps.clearBatch();
+    }
+
+    void close() {
+        this.statements.values().forEach(StatementCache::closeQuietly);
+        this.statements.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException e) {
+            // Ignore
+        }
+    }
+
+    record Key(String sql, List<String> keyColumnNames, boolean returnGeneratedKeys) {
+
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.reader.sjsql.jdbc;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cancels the running statements of a group of operations by {@link Statement#cancel()}, the threads are not
+ * interrupted, interrupting a virtual thread in socket I/O closes the connection.
+ */
+final class StatementCancellation {
+
+    private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    /**
+     * @throws SQLException when the group is cancelled, the statement is not executed
+     */
+    void register(Statement statement) throws SQLException {
+        statements.add(statement);
+        if (cancelled) {
+            statements.remove(statement);
+            throw new SQLException("Statement cancelled", "57014");
+        }
+    }
+
+    void unregister(Statement statement) {
+        statements.remove(statement);
+    }
+
+    void cancel() {
+        cancelled = true;
+        for (Statement statement : statements) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                // Ignore, the statement completed or its connection is closed
+            }
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package io.github.reader.sjsql.result;
 
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
@@ -19,30 +17,36 @@ public final class ClassUtils {
 
     private static final Map<Class<?>, List<Field>> persistent_field_cache = new ConcurrentHashMap<>(32);
     private static final Map<Class<?>, List<Field>> all_declared_field_cache = new ConcurrentHashMap<>(32);
-    private static final Map<String, Field> declared_field_cache = new ConcurrentHashMap<>(32);
+    private static final ClassValue<Map<String, Field>> declared_field_cache = new ClassValue<>() {
+        @Override
+        protected Map<String, Field> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(32);
+        }
+    };
 
     private ClassUtils() {
     }
 
-    static void setFieldValue(Object instance, Field field, Object value)
-        throws NoSuchFieldException, IllegalAccessException {
-        MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
-                     .findVarHandle(field.getDeclaringClass(), field.getName(), field.getType())
-                     .set(instance, value);
+    public static void setFieldValue(Object instance, Field field, Object value)
+        throws Throwable {
+        FieldAccessor.of(field).set(instance, value);
     }
 
-    public static Object getFieldValue(Object instance, Field field)
+    public static void setFieldValue(Object instance, String fieldName, Object value)
         throws Throwable {
+        Field field = getFieldByName(instance.getClass(), fieldName);
         if (field == null) {
-            return null;
+            throw new NoSuchFieldException(instance.getClass() + " cannot found field: " + fieldName);
         }
-        final MethodHandle getter = MethodHandles
-            .privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
-            .findGetter(field.getDeclaringClass(), field.getName(), field.getType());
-        if (getter == null) {
+        setFieldValue(instance, field, TypeConverter.convert(value, field.getType()));
+    }
+
+    public static Object getFieldValue(Object instance, Field field)
+        throws Throwable {
+        if (field == null) {
             return null;
         }
-        return getter.invoke(instance);
+        return FieldAccessor.of(field).get(instance);
     }
 
     public static Object getFieldValue(Object instance, String fieldName)
@@ -64,7 +68,7 @@ public final class ClassUtils {
 
     static Field getFieldByName(Class<?> clazz, String fieldName) throws Exception {
         String newFieldName = toCamelCase(fieldName);
-        Field field = declared_field_cache.computeIfAbsent(clazz + "." + newFieldName, key -> {
+        Field field = declared_field_cache.get(clazz).computeIfAbsent(newFieldName, key -> {
             try {
                 return clazz.getDeclaredField(newFieldName);
             } catch (NoSuchFieldException e) {
@@ -0,0 +1,34 @@
+package io.github.reader.sjsql.result;
+
+import io.github.reader.sjsql.result.TypeConverter.Converter;
+
+/**
+ * Converter of one column into its target type, the converter of the value class is resolved on the first row and
+ * re-resolved only when the driver returns another class.
+ */
+final class ColumnConverter {
+
+    private final Class<?> targetType;
+    private Resolved resolved;
+
+    ColumnConverter(Class<?> targetType) {
+        this.targetType = targetType;
+    }
+
+    Object convert(Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        Resolved resolved = this.resolved;
+        if (resolved == null || resolved.sourceType() != value.getClass()) {
+            resolved = new Resolved(value.getClass(), TypeConverter.converter(value.getClass(), targetType));
+            this.resolved = resolved;
+        }
+        return resolved.converter().convert(value);
+    }
+
+    private record Resolved(Class<?> sourceType, Converter converter) {
+
+    }
+}
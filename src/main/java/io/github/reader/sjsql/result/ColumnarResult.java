@@ -0,0 +1,304 @@
+package io.github.reader.sjsql.result;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Rows read column by column into primitive arrays, for aggregate and report queries of many numeric cells.
+ * <p>
+ * Integer columns are {@code int[]}, BIGINT, unsigned INTEGER and DECIMAL columns without scale are {@code long[]},
+ * floating point columns are {@code double[]}, everything else is {@code Object[]}, e.g. unsigned BIGINT. Null cells are 0 in the primitive arrays and
+ * marked in the null bitmap of the column, see {@link #isNull(int, int)}.
+ * <p>
+ * The arrays are returned without copying, they must not be modified.
+ */
+public final class ColumnarResult {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final String[] labels;
+    private final Column[] columns;
+    private final int rowCount;
+
+    private ColumnarResult(String[] labels, Column[] columns, int rowCount) {
+        this.labels = labels;
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    static ColumnarResult read(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        Column[] columns = new Column[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+            columns[i] = Column.of(kindOf(metaData, i + 1));
+        }
+
+        int row = 0;
+        while (rs.next()) {
+            for (int i = 0; i < columnCount; i++) {
+                columns[i].read(rs, i + 1, row);
+            }
+            row++;
+        }
+        for (Column column : columns) {
+            column.trim(row);
+        }
+        return new ColumnarResult(labels, columns, row);
+    }
+
+    /**
+     * the first column as {@code long[]}, null cells are 0.
+     */
+    static long[] readLongs(ResultSet rs) throws SQLException {
+        long[] values = new long[INITIAL_CAPACITY];
+        int row = 0;
+        while (rs.next()) {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, row << 1);
+            }
+            values[row++] = rs.getLong(1);
+        }
+        return row == values.length ? values : Arrays.copyOf(values, row);
+    }
+
+    /**
+     * the first column as {@code int[]}, null cells are 0.
+     */
+    static int[] readInts(ResultSet rs) throws SQLException {
+        int[] values = new int[INITIAL_CAPACITY];
+        int row = 0;
+        while (rs.next()) {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, row << 1);
+            }
+            values[row++] = rs.getInt(1);
+        }
+        return row == values.length ? values : Arrays.copyOf(values, row);
+    }
+
+    /**
+     * the first column as {@code double[]}, null cells are 0.
+     */
+    static double[] readDoubles(ResultSet rs) throws SQLException {
+        double[] values = new double[INITIAL_CAPACITY];
+        int row = 0;
+        while (rs.next()) {
+            if (row == values.length) {
+                values = Arrays.copyOf(values, row << 1);
+            }
+            values[row++] = rs.getDouble(1);
+        }
+        return row == values.length ? values : Arrays.copyOf(values, row);
+    }
+
+    private static Kind kindOf(ResultSetMetaData metaData, int column) throws SQLException {
+        return switch (metaData.getColumnType(column)) {
+            case Types.TINYINT, Types.SMALLINT -> Kind.INT;
+            // unsigned INTEGER overflows int, unsigned BIGINT overflows long and is read as BigInteger
+            case Types.INTEGER -> metaData.isSigned(column) ? Kind.INT : Kind.LONG;
+            case Types.BIGINT -> metaData.isSigned(column) ? Kind.LONG : Kind.OBJECT;
+            case Types.REAL, Types.FLOAT, Types.DOUBLE -> Kind.DOUBLE;
+            case Types.DECIMAL, Types.NUMERIC ->
+                metaData.getScale(column) == 0 && metaData.getPrecision(column) > 0
+                    && metaData.getPrecision(column) <= 18 ? Kind.LONG : Kind.OBJECT;
+            default -> Kind.OBJECT;
+        };
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public int columnCount() {
+        return columns.length;
+    }
+
+    public List<String> labels() {
+        return List.of(labels);
+    }
+
+    /**
+     * 0-based index of the column label, case-insensitive.
+     */
+    public int columnIndex(String label) {
+        for (int i = 0; i < labels.length; i++) {
+            if (labels[i].equalsIgnoreCase(label)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("column not found: " + label);
+    }
+
+    public long[] longs(String label) {
+        return longs(columnIndex(label));
+    }
+
+    public long[] longs(int column) {
+        return column(column, Kind.LONG).longs;
+    }
+
+    public int[] ints(String label) {
+        return ints(columnIndex(label));
+    }
+
+    public int[] ints(int column) {
+        return column(column, Kind.INT).ints;
+    }
+
+    public double[] doubles(String label) {
+        return doubles(columnIndex(label));
+    }
+
+    public double[] doubles(int column) {
+        return column(column, Kind.DOUBLE).doubles;
+    }
+
+    public Object[] objects(String label) {
+        return objects(columnIndex(label));
+    }
+
+    public Object[] objects(int column) {
+        return column(column, Kind.OBJECT).objects;
+    }
+
+    /**
+     * rough heap size of the columns, the values of the Object columns included.
+     */
+    public long estimatedBytes() {
+        long size = 32 + 16L * labels.length;
+        for (int i = 0; i < columns.length; i++) {
+            size += 40 + 2L * labels[i].length() + columns[i].estimatedBytes();
+        }
+        return size;
+    }
+
+    /**
+     * whether the cell is SQL NULL, the cells of the primitive arrays are 0 then.
+     */
+    public boolean isNull(int column, int row) {
+        Objects.checkIndex(row, rowCount);
+        long[] nulls = columns[column].nulls;
+        return nulls != null && (nulls[row >>> 6] & (1L << row)) != 0;
+    }
+
+    private Column column(int column, Kind kind) {
+        Column c = columns[column];
+        if (c.kind != kind) {
+            throw new IllegalStateException("column " + labels[column] + " is " + c.kind + " but not " + kind);
+        }
+        return c;
+    }
+
+    private enum Kind {
+        INT, LONG, DOUBLE, OBJECT
+    }
+
+    /**
+     * values of one column, only the array of its kind is used.
+     */
+    private static final class Column {
+
+        private final Kind kind;
+        private int[] ints;
+        private long[] longs;
+        private double[] doubles;
+        private Object[] objects;
+        // bit per row, allocated on the first null
+        private long[] nulls;
+
+        private Column(Kind kind) {
+            this.kind = kind;
+        }
+
+        static Column of(Kind kind) {
+            Column column = new Column(kind);
+            switch (kind) {
+                case INT -> column.ints = new int[INITIAL_CAPACITY];
+                case LONG -> column.longs = new long[INITIAL_CAPACITY];
+                case DOUBLE -> column.doubles = new double[INITIAL_CAPACITY];
+                default -> column.objects = new Object[INITIAL_CAPACITY];
+            }
+            return column;
+        }
+
+        void read(ResultSet rs, int index, int row) throws SQLException {
+            switch (kind) {
+                case INT -> {
+                    if (row == ints.length) {
+                        ints = Arrays.copyOf(ints, row << 1);
+                    }
+                    ints[row] = rs.getInt(index);
+                }
+                case LONG -> {
+                    if (row == longs.length) {
+                        longs = Arrays.copyOf(longs, row << 1);
+                    }
+                    longs[row] = rs.getLong(index);
+                }
+                case DOUBLE -> {
+                    if (row == doubles.length) {
+                        doubles = Arrays.copyOf(doubles, row << 1);
+                    }
+                    doubles[row] = rs.getDouble(index);
+                }
+                default -> {
+                    if (row == objects.length) {
+                        objects = Arrays.copyOf(objects, row << 1);
+                    }
+                    objects[row] = rs.getObject(index);
+                }
+            }
+            if (rs.wasNull()) {
+                markNull(row);
+            }
+        }
+
+        private void markNull(int row) {
+            int word = row >>> 6;
+            if (nulls == null) {
+                nulls = new long[Math.max(word + 1, INITIAL_CAPACITY >>> 6)];
+            } else if (word >= nulls.length) {
+                nulls = Arrays.copyOf(nulls, Math.max(word + 1, nulls.length << 1));
+            }
+            nulls[word] |= 1L << row;
+        }
+
+        long estimatedBytes() {
+            long size = 32 + (nulls == null ? 0 : 16 + 8L * nulls.length);
+            switch (kind) {
+                case INT -> size += 16 + 4L * ints.length;
+                case LONG -> size += 16 + 8L * longs.length;
+                case DOUBLE -> size += 16 + 8L * doubles.length;
+                default -> {
+                    size += 16 + 8L * objects.length;
+                    for (Object value : objects) {
+                        size += switch (value) {
+                            case null -> 0;
+                            case String s -> 40 + 2L * s.length();
+                            case byte[] b -> 16 + b.length;
+                            default -> 24;
+                        };
+                    }
+                }
+            }
+            return size;
+        }
+
+        void trim(int rowCount) {
+            switch (kind) {
+                case INT -> ints = ints.length == rowCount ? ints : Arrays.copyOf(ints, rowCount);
+                case LONG -> longs = longs.length == rowCount ? longs : Arrays.copyOf(longs, rowCount);
+                case DOUBLE -> doubles = doubles.length == rowCount ? doubles : Arrays.copyOf(doubles, rowCount);
+                default -> objects = objects.length == rowCount ? objects : Arrays.copyOf(objects, rowCount);
+            }
+        }
+    }
+}
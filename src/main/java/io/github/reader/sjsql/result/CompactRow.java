@@ -0,0 +1,246 @@
+package io.github.reader.sjsql.result;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Map row of a result set that keeps only the values, the labels and their positions are shared by all rows of the
+ * result set.
+ * <p>
+ * Entries iterate in column order. Putting a label that is not a column goes to an extra map of the row, so it is a
+ * fully mutable map like the HashMap it replaces.
+ */
+final class CompactRow extends AbstractMap<String, Object> {
+
+    // value of a removed column
+    private static final Object ABSENT = new Object();
+
+    private final ColumnIndex index;
+    private final Object[] values;
+    private int removed;
+    private Map<String, Object> extra;
+
+    CompactRow(ColumnIndex index, Object[] values) {
+        this.index = index;
+        this.values = values;
+    }
+
+    @Override
+    public int size() {
+        return values.length - removed + (extra == null ? 0 : extra.size());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Integer position = index.positions().get(key);
+        if (position != null) {
+            return values[position] != ABSENT;
+        }
+        return extra != null && extra.containsKey(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        Integer position = index.positions().get(key);
+        if (position != null) {
+            Object value = values[position];
+            return value == ABSENT ? null : value;
+        }
+        return extra == null ? null : extra.get(key);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Integer position = index.positions().get(key);
+        if (position != null) {
+            Object old = values[position];
+            values[position] = value;
+            if (old == ABSENT) {
+                removed--;
+                return null;
+            }
+            return old;
+        }
+        if (extra == null) {
+            extra = new LinkedHashMap<>();
+        }
+        return extra.put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Integer position = index.positions().get(key);
+        if (position != null) {
+            return removeAt(position);
+        }
+        return extra == null ? null : extra.remove(key);
+    }
+
+    private Object removeAt(int position) {
+        Object old = values[position];
+        if (old == ABSENT) {
+            return null;
+        }
+        values[position] = ABSENT;
+        removed++;
+        return old;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return CompactRow.this.size();
+            }
+        };
+    }
+
+    /**
+     * the columns in order, then the extra entries.
+     */
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private int next = advance(0);
+        private int last = -1;
+        private Iterator<Entry<String, Object>> extraIterator;
+
+        private int advance(int from) {
+            int position = from;
+            while (position < values.length && values[position] == ABSENT) {
+                position++;
+            }
+            return position;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next < values.length) {
+                return true;
+            }
+            if (extraIterator == null) {
+                if (extra == null) {
+                    return false;
+                }
+                extraIterator = extra.entrySet().iterator();
+            }
+            return extraIterator.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (next < values.length) {
+                last = next;
+                next = advance(next + 1);
+                return new ColumnEntry(last);
+            }
+            last = -1;
+            return extraIterator.next();
+        }
+
+        @Override
+        public void remove() {
+            if (extraIterator != null && last < 0) {
+                extraIterator.remove();
+                return;
+            }
+            if (last < 0 || values[last] == ABSENT) {
+                throw new IllegalStateException();
+            }
+            removeAt(last);
+        }
+    }
+
+    private final class ColumnEntry implements Entry<String, Object> {
+
+        private final int position;
+
+        private ColumnEntry(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public String getKey() {
+            return index.labels()[position];
+        }
+
+        @Override
+        public Object getValue() {
+            Object value = values[position];
+            return value == ABSENT ? null : value;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object old = values[position];
+            values[position] = value;
+            if (old == ABSENT) {
+                removed--;
+                return null;
+            }
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry<?, ?> e
+                && getKey().equals(e.getKey())
+                && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+
+    /**
+     * distinct labels of the result set and the result set column of each, the last column of a duplicated label
+     * wins like the puts of a HashMap.
+     *
+     * @param columns   1-based result set column of each label
+     * @param positions label to its position in the values, read only after creation
+     */
+    record ColumnIndex(String[] labels, int[] columns, Map<String, Integer> positions) {
+
+        static ColumnIndex of(String[] columnLabels) {
+            Map<String, Integer> lastColumns = new LinkedHashMap<>();
+            for (int i = 0; i < columnLabels.length; i++) {
+                // keep the first position for the order, the last column for the value
+                lastColumns.put(columnLabels[i], i + 1);
+            }
+
+            String[] labels = new String[lastColumns.size()];
+            int[] columns = new int[lastColumns.size()];
+            Map<String, Integer> positions = HashMap.newHashMap(lastColumns.size());
+            int position = 0;
+            for (Map.Entry<String, Integer> e : lastColumns.entrySet()) {
+                labels[position] = e.getKey();
+                columns[position] = e.getValue();
+                positions.put(e.getKey(), position);
+                position++;
+            }
+            return new ColumnIndex(labels, columns, positions);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package io.github.reader.sjsql.result;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup.ClassOption;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Field getter and setter, defined once per field and cached by the declaring class.
+ * <p>
+ * Every field has its own hidden class of the accessor, holding the method handles in static final fields, so the
+ * JIT inlines them like a direct field access. int, long, double and boolean fields have primitive accessors, so
+ * they can be read and written without boxing, setting null to them is skipped and the field keeps its value.
+ */
+public abstract class FieldAccessor {
+
+    private static final ClassValue<Map<String, FieldAccessor>> accessor_cache = new ClassValue<>() {
+        @Override
+        protected Map<String, FieldAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(16);
+        }
+    };
+
+    private static final ClassValue<byte[]> template_cache = new ClassValue<>() {
+        @Override
+        protected byte[] computeValue(Class<?> template) {
+            String resource = template.getName().substring(template.getPackageName().length() + 1) + ".class";
+            try (InputStream in = template.getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IllegalStateException("Class file not found: " + resource);
+                }
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    };
+
+    private final Field field;
+
+    FieldAccessor(Field field) {
+        this.field = field;
+    }
+
+    public static FieldAccessor of(Field field) throws IllegalAccessException {
+        Map<String, FieldAccessor> accessors = accessor_cache.get(field.getDeclaringClass());
+        FieldAccessor accessor = accessors.get(field.getName());
+        if (accessor == null) {
+            accessor = create(field);
+            FieldAccessor cached = accessors.putIfAbsent(field.getName(), accessor);
+            if (cached != null) {
+                accessor = cached;
+            }
+        }
+        return accessor;
+    }
+
+    private static FieldAccessor create(Field field) throws IllegalAccessException {
+        Class<?> declaringClass = field.getDeclaringClass();
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+        Class<?> type = field.getType();
+        MethodHandle getter = lookup.unreflectGetter(field);
+        // final field is read only
+        MethodHandle setter = Modifier.isFinal(field.getModifiers()) ? null : lookup.unreflectSetter(field);
+
+        Class<? extends FieldAccessor> template;
+        if (type == int.class) {
+            template = IntAccessor.class;
+        } else if (type == long.class) {
+            template = LongAccessor.class;
+        } else if (type == double.class) {
+            template = DoubleAccessor.class;
+        } else if (type == boolean.class) {
+            template = BooleanAccessor.class;
+        } else {
+            template = ObjectAccessor.class;
+            type = Object.class;
+        }
+        getter = getter.asType(MethodType.methodType(type, Object.class));
+        setter = setter == null ? null : setter.asType(MethodType.methodType(void.class, Object.class, type));
+
+        // the class data is read by the static initializer of the hidden class, see classData
+        MethodHandles.Lookup accessorLookup = MethodHandles.lookup().defineHiddenClassWithClassData(
+            template_cache.get(template), Arrays.asList(getter, setter), true, ClassOption.NESTMATE);
+        try {
+            return (FieldAccessor) accessorLookup
+                .findConstructor(accessorLookup.lookupClass(), MethodType.methodType(void.class, Field.class))
+                .invoke(field);
+        } catch (IllegalAccessException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create the accessor of " + field, e);
+        }
+    }
+
+    /**
+     * the getter (0) or the setter (1) of the hidden accessor class, null setter for a final field.
+     */
+    static MethodHandle classData(MethodHandles.Lookup accessorLookup, int index) {
+        try {
+            return MethodHandles.classDataAt(accessorLookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, index);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public abstract Object get(Object instance) throws Throwable;
+
+    public abstract void set(Object instance, Object value) throws Throwable;
+
+    public int getInt(Object instance) throws Throwable {
+        return ((Number) get(instance)).intValue();
+    }
+
+    public void setInt(Object instance, int value) throws Throwable {
+        set(instance, value);
+    }
+
+    public long getLong(Object instance) throws Throwable {
+        return ((Number) get(instance)).longValue();
+    }
+
+    public void setLong(Object instance, long value) throws Throwable {
+        set(instance, value);
+    }
+
+    public double getDouble(Object instance) throws Throwable {
+        return ((Number) get(instance)).doubleValue();
+    }
+
+    public void setDouble(Object instance, double value) throws Throwable {
+        set(instance, value);
+    }
+
+    public boolean getBoolean(Object instance) throws Throwable {
+        return (Boolean) get(instance);
+    }
+
+    public void setBoolean(Object instance, boolean value) throws Throwable {
+        set(instance, value);
+    }
+
+    MethodHandle setter(MethodHandle setter) throws IllegalAccessException {
+        if (setter == null) {
+            throw new IllegalAccessException("Cannot set final field: " + field);
+        }
+        return setter;
+    }
+
+    /*
+     * The accessors below are templates, they are only defined as hidden classes by create(Field).
+     */
+
+    private static final class ObjectAccessor extends FieldAccessor {
+
+        private static final MethodHandle GETTER = classData(MethodHandles.lookup(), 0);
+        private static final MethodHandle SETTER = classData(MethodHandles.lookup(), 1);
+
+        ObjectAccessor(Field field) {
+            super(field);
+        }
+
+        @Override
+        public Object get(Object instance) throws Throwable {
+            return (Object) GETTER.invokeExact(instance);
+        }
+
+        @Override
+        public void set(Object instance, Object value) throws Throwable {
+            setter(SETTER).invokeExact(instance, value);
+        }
+    }
+
+    private static final class IntAccessor extends FieldAccessor {
+
+        private static final MethodHandle GETTER = classData(MethodHandles.lookup(), 0);
+        private static final MethodHandle SETTER = classData(MethodHandles.lookup(), 1);
+
+        IntAccessor(Field field) {
+            super(field);
+        }
+
+        @Override
+        public Object get(Object instance) throws Throwable {
+            return getInt(instance);
+        }
+
+        @Override
+        public void set(Object instance, Object value) throws Throwable {
+            if (value != null) {
+                setInt(instance, ((Number) value).intValue());
+            }
+        }
+
+        @Override
+        public int getInt(Object instance) throws Throwable {
+            return (int) GETTER.invokeExact(instance);
+        }
+
+        @Override
+        public void setInt(Object instance, int value) throws Throwable {
+            setter(SETTER).invokeExact(instance, value);
+        }
+    }
+
+    private static final class LongAccessor extends FieldAccessor {
+
+        private static final MethodHandle GETTER = classData(MethodHandles.lookup(), 0);
+        private static final MethodHandle SETTER = classData(MethodHandles.lookup(), 1);
+
+        LongAccessor(Field field) {
+            super(field);
+        }
+
+        @Override
+        public Object get(Object instance) throws Throwable {
+            return getLong(instance);
+        }
+
+        @Override
+        public void set(Object instance, Object value) throws Throwable {
+            if (value != null) {
+                setLong(instance, ((Number) value).longValue());
+            }
+        }
+
+        @Override
+        public long getLong(Object instance) throws Throwable {
+            return (long) GETTER.invokeExact(instance);
+        }
+
+        @Override
+        public void setLong(Object instance, long value) throws Throwable {
+            setter(SETTER).invokeExact(instance, value);
+        }
+    }
+
+    private static final class DoubleAccessor extends FieldAccessor {
+
+        private static final MethodHandle GETTER = classData(MethodHandles.lookup(), 0);
+        private static final MethodHandle SETTER = classData(MethodHandles.lookup(), 1);
+
+        DoubleAccessor(Field field) {
+            super(field);
+        }
+
+        @Override
+        public Object get(Object instance) throws Throwable {
+            return getDouble(instance);
+        }
+
+        @Override
+        public void set(Object instance, Object value) throws Throwable {
+            if (value != null) {
+                setDouble(instance, ((Number) value).doubleValue());
+            }
+        }
+
+        @Override
+        public double getDouble(Object instance) throws Throwable {
+            return (double) GETTER.invokeExact(instance);
+        }
+
+        @Override
+        public void setDouble(Object instance, double value) throws Throwable {
+            setter(SETTER).invokeExact(instance, value);
+        }
+    }
+
+    private static final class BooleanAccessor extends FieldAccessor {
+
+        private static final MethodHandle GETTER = classData(MethodHandles.lookup(), 0);
+        private static final MethodHandle SETTER = classData(MethodHandles.lookup(), 1);
+
+        BooleanAccessor(Field field) {
+            super(field);
+        }
+
+        @Override
+        public Object get(Object instance) throws Throwable {
+            return getBoolean(instance);
+        }
+
+        @Override
+        public void set(Object instance, Object value) throws Throwable {
+            if (value != null) {
+                setBoolean(instance, (Boolean) value);
+            }
+        }
+
+        @Override
+        public boolean getBoolean(Object instance) throws Throwable {
+            return (boolean) GETTER.invokeExact(instance);
+        }
+
+        @Override
+        public void setBoolean(Object instance, boolean value) throws Throwable {
+            setter(SETTER).invokeExact(instance, value);
+        }
+    }
+}
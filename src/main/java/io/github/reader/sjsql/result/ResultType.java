@@ -1,16 +1,15 @@
 package io.github.reader.sjsql.result;
 
+import io.github.reader.sjsql.result.RowMappers.CompiledRowMapper;
 
-import java.lang.reflect.Field;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.StringJoiner;
+import java.util.Objects;
+import java.util.function.LongConsumer;
 
 /**
  * SQL resultType mapping.
@@ -44,120 +43,93 @@ public class ResultType<T> {
         return (ResultType<List<Map<String, Object>>>) new ResultType<>((Class) List.class, Map.class);
     }
 
-    public T mapping(ResultSet rs) throws Throwable {
-        final List<T> results = mappingList(rs);
-        return results.isEmpty() ? null : results.getFirst();
+    /**
+     * all columns into primitive arrays, see {@link ColumnarResult}.
+     */
+    public static ResultType<ColumnarResult> columnar() {
+        return new ResultType<>(ColumnarResult.class);
     }
 
-    public List<T> mappingList(ResultSet rs) throws Throwable {
-        ResultSetMetaData metaData = rs.getMetaData();
-        int columnCount = metaData.getColumnCount();
-        List<Map<String, Object>> rows = new ArrayList<>();
-        while (rs.next()) {
-            Map<String, Object> row = new HashMap<>();
-            for (int i = 1; i <= columnCount; i++) {
-                String columnName = metaData.getColumnLabel(i);
-                Object value = rs.getObject(i);
-                row.put(columnName, value);
-            }
-            rows.add(row);
-        }
+    /**
+     * the first column into {@code long[]} without boxing, null is 0.
+     */
+    public static ResultType<long[]> forLongArray() {
+        return new ResultType<>(long[].class);
+    }
 
-        return processRows(rows);
+    /**
+     * the first column into {@code int[]} without boxing, null is 0.
+     */
+    public static ResultType<int[]> forIntArray() {
+        return new ResultType<>(int[].class);
     }
 
-    private List<T> processRows(List<Map<String, Object>> rows) throws Throwable {
-        List<T> results = new ArrayList<>();
+    /**
+     * the first column into {@code double[]} without boxing, null is 0.
+     */
+    public static ResultType<double[]> forDoubleArray() {
+        return new ResultType<>(double[].class);
+    }
 
-        // simple type
-        if (ClassUtils.isSimpleType(this.resultType)) {
-            for (Map<String, Object> row : rows) {
-                row.forEach((columnName, value) -> {
-                    Object convertedValue = TypeConverter.convert(value, this.resultType);
-                    results.add((T) convertedValue);
-                });
-            }
-            return results;
-        }
+    public T mapping(ResultSet rs) throws Throwable {
+        return mapping(rs, rows -> {
+        });
+    }
 
-        // Map, List<Map>
-        if (ClassUtils.isMapType(this.resultType) || ClassUtils.isMapType(this.elementType)) {
-            for (Map<String, Object> row : rows) {
-                results.add((T) row);
-            }
-            return results;
+    /**
+     * @param rowCounter accepts the number of rows read, a single object reads all the rows and keeps the first
+     */
+    public T mapping(ResultSet rs, LongConsumer rowCounter) throws Throwable {
+        if (resultType == ColumnarResult.class) {
+            ColumnarResult columnar = ColumnarResult.read(rs);
+            rowCounter.accept(columnar.rowCount());
+            return resultType.cast(columnar);
         }
-
-        for (Map<String, Object> row : rows) {
-            T instance = newInstance();
-            Map<String, Object> fieldObjects = new HashMap<>();
-            for (Entry<String, Object> entry : row.entrySet()) {
-                String columnName = entry.getKey();
-                Object value = entry.getValue();
-                if (columnName.contains(".")) {
-                    mappingObjectField(instance, fieldObjects, columnName, value);
-                    continue;
-                }
-
-                Field field = getField(instance.getClass(), columnName);
-                if (field != null) {
-                    Object convertValue = TypeConverter.convert(value, field.getType());
-                    ClassUtils.setFieldValue(instance, field, convertValue);
-                }
-            }
-
-            results.add(instance);
+        if (resultType == long[].class) {
+            long[] values = ColumnarResult.readLongs(rs);
+            rowCounter.accept(values.length);
+            return resultType.cast(values);
+        }
+        if (resultType == int[].class) {
+            int[] values = ColumnarResult.readInts(rs);
+            rowCounter.accept(values.length);
+            return resultType.cast(values);
+        }
+        if (resultType == double[].class) {
+            double[] values = ColumnarResult.readDoubles(rs);
+            rowCounter.accept(values.length);
+            return resultType.cast(values);
         }
 
-        return results;
+        final List<T> results = mappingList(rs);
+        rowCounter.accept(results.size());
+        return results.isEmpty() ? null : results.getFirst();
     }
 
+    public List<T> mappingList(ResultSet rs) throws Throwable {
+        List<T> results = new ArrayList<>();
+        if (!rs.next()) {
+            return results;
+        }
 
-    private void mappingObjectField(T instance, Map<String, Object> fieldObjectCache, String columnName, Object value)
-        throws Throwable {
-        String[] columnNames = columnName.split("\\.");
-        Object lastFieldObjectInstance = instance;
-        Class<?> fieldType = instance.getClass();
-
-        final StringJoiner columnAliasJoiner = new StringJoiner(".");
-        for (int i = 0; i < columnNames.length; i++) {
-            String column = aliasObjectFieldMap.getOrDefault(columnNames[i], columnNames[i]);
-            Field field = getField(fieldType, column);
-            if (field == null) {
-                continue;
-            }
-
-            if (i == columnNames.length - 1) {
-                Object convertValue = TypeConverter.convert(value, field.getType());
-                ClassUtils.setFieldValue(lastFieldObjectInstance, field, convertValue);
-                continue;
-            }
-
-            columnAliasJoiner.add(column);
-            String columnAlias = columnAliasJoiner.toString();
-            fieldType = field.getType();
-            Object fieldObjectInstance = fieldObjectCache.get(columnAlias);
-            if (fieldObjectInstance == null) {
-                fieldObjectInstance = fieldType.getDeclaredConstructor().newInstance();
-                fieldObjectCache.put(columnAlias, fieldObjectInstance);
-
-                ClassUtils.setFieldValue(lastFieldObjectInstance, field, fieldObjectInstance);
-            }
+        CompiledRowMapper<T> rowMapper = compiledRowMapper(rs);
+        do {
+            rowMapper.mapRowTo(rs, results);
+        } while (rs.next());
 
-            lastFieldObjectInstance = fieldObjectInstance;
-        }
+        return results;
     }
 
-    private Field getField(Class<?> clazz, String columnName) throws Exception {
-        Field field = ClassUtils.getFieldByName(clazz, columnName);
-        if (field == null) {
-            if (ignoreUnknownField) {
-                return null;
-            }
+    /**
+     * Compile the row mapper of the ResultSet, it is cached by the result class and the column signature.
+     */
+    public RowMapper<T> rowMapper(ResultSet rs) throws Throwable {
+        return compiledRowMapper(rs);
+    }
 
-            throw new NoSuchFieldException(clazz + " cannot found field: " + columnName);
-        }
-        return field;
+    private CompiledRowMapper<T> compiledRowMapper(ResultSet rs) throws Throwable {
+        Class<?> targetClass = (elementType != null) ? elementType : resultType;
+        return RowMappers.get(targetClass, aliasObjectFieldMap, ignoreUnknownField, rs.getMetaData());
     }
 
     public boolean isCollectionType() {
@@ -174,9 +146,26 @@ public class ResultType<T> {
         return this;
     }
 
-    private T newInstance() throws Exception {
-        Class<?> targetClass = (elementType != null) ? elementType : resultType;
-        return (T) targetClass.getDeclaredConstructor().newInstance();
+    /**
+     * result types of the same mapping are equal, so they can be part of a cache key.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ResultType<?> that)) {
+            return false;
+        }
+        return ignoreUnknownField == that.ignoreUnknownField
+            && resultType == that.resultType
+            && elementType == that.elementType
+            && aliasObjectFieldMap.equals(that.aliasObjectFieldMap);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(resultType, elementType, aliasObjectFieldMap, ignoreUnknownField);
     }
 
 }
@@ -0,0 +1,11 @@
+package io.github.reader.sjsql.result;
+
+import java.sql.ResultSet;
+
+/**
+ * Mapping the current row of a ResultSet, compiled by {@link ResultType#rowMapper(ResultSet)}.
+ */
+public interface RowMapper<T> {
+
+    T mapRow(ResultSet rs) throws Throwable;
+}
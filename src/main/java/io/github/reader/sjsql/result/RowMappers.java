@@ -0,0 +1,287 @@
+package io.github.reader.sjsql.result;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles row mappers once per result class and ResultSetMetaData signature.
+ */
+final class RowMappers {
+
+    private static final int MAX_CACHE_SIZE = 1024;
+    private static final Map<Signature, CompiledRowMapper<?>> mapper_cache = new ConcurrentHashMap<>(64);
+
+    private RowMappers() {
+    }
+
+    static <T> CompiledRowMapper<T> get(Class<?> targetClass, Map<String, String> aliasObjectFieldMap,
+        boolean ignoreUnknownField, ResultSetMetaData metaData) throws Throwable {
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        Integer[] types = new Integer[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+            types[i] = metaData.getColumnType(i + 1);
+        }
+
+        Signature signature = new Signature(targetClass, Map.copyOf(aliasObjectFieldMap), ignoreUnknownField,
+            List.of(labels), List.of(types));
+        CompiledRowMapper<?> rowMapper = mapper_cache.get(signature);
+        if (rowMapper == null) {
+            rowMapper = compile(signature, labels);
+            if (mapper_cache.size() < MAX_CACHE_SIZE) {
+                mapper_cache.putIfAbsent(signature, rowMapper);
+            }
+        }
+        // the signature holds the target class, so the cached mapper maps rows to it
+        @SuppressWarnings("unchecked")
+        CompiledRowMapper<T> typed = (CompiledRowMapper<T>) rowMapper;
+        return typed;
+    }
+
+    private static CompiledRowMapper<?> compile(Signature signature, String[] labels) throws Throwable {
+        Class<?> targetClass = signature.targetClass();
+        if (ClassUtils.isSimpleType(targetClass)) {
+            return new SimpleRowMapper<>(targetClass, labels.length);
+        }
+        if (ClassUtils.isMapType(targetClass) && targetClass.isAssignableFrom(CompactRow.class)) {
+            return new CompactRowMapper(CompactRow.ColumnIndex.of(labels));
+        }
+        if (ClassUtils.isMapType(targetClass)) {
+            return new MapRowMapper(labels);
+        }
+        return BeanRowMapper.compile(signature, labels);
+    }
+
+    abstract static class CompiledRowMapper<T> implements RowMapper<T> {
+
+        void mapRowTo(ResultSet rs, List<T> results) throws Throwable {
+            results.add(mapRow(rs));
+        }
+    }
+
+    /**
+     * simple type, every column of the row is a result.
+     */
+    private static final class SimpleRowMapper<T> extends CompiledRowMapper<T> {
+
+        private final ColumnConverter[] converters;
+
+        private SimpleRowMapper(Class<?> targetClass, int columnCount) {
+            this.converters = new ColumnConverter[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                this.converters[i] = new ColumnConverter(targetClass);
+            }
+        }
+
+        @Override
+        public T mapRow(ResultSet rs) throws Throwable {
+            return convert(rs, 0);
+        }
+
+        @Override
+        void mapRowTo(ResultSet rs, List<T> results) throws Throwable {
+            for (int i = 0; i < converters.length; i++) {
+                results.add(convert(rs, i));
+            }
+        }
+
+        // the converters convert to the target class, T is the target class or its wrapper
+        @SuppressWarnings("unchecked")
+        private T convert(ResultSet rs, int index) throws Throwable {
+            return (T) converters[index].convert(rs.getObject(index + 1));
+        }
+    }
+
+    private static final class MapRowMapper extends CompiledRowMapper<Map<String, Object>> {
+
+        private final String[] labels;
+
+        private MapRowMapper(String[] labels) {
+            this.labels = labels;
+        }
+
+        @Override
+        public Map<String, Object> mapRow(ResultSet rs) throws Throwable {
+            Map<String, Object> row = HashMap.newHashMap(labels.length);
+            for (int i = 0; i < labels.length; i++) {
+                row.put(labels[i], rs.getObject(i + 1));
+            }
+            return row;
+        }
+    }
+
+    /**
+     * {@link CompactRow} of the shared column index, the row holds only its values.
+     */
+    private static final class CompactRowMapper extends CompiledRowMapper<Map<String, Object>> {
+
+        private final CompactRow.ColumnIndex index;
+
+        private CompactRowMapper(CompactRow.ColumnIndex index) {
+            this.index = index;
+        }
+
+        @Override
+        public Map<String, Object> mapRow(ResultSet rs) throws Throwable {
+            int[] columns = index.columns();
+            Object[] values = new Object[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                values[i] = rs.getObject(columns[i]);
+            }
+            return new CompactRow(index, values);
+        }
+    }
+
+    /**
+     * Columns are mapped into fields by column index, dotted {@code a.b} labels into nested objects.
+     */
+    private static final class BeanRowMapper<T> extends CompiledRowMapper<T> {
+
+        private final Node[] nodes;
+        private final Binding[] bindings;
+
+        private BeanRowMapper(Node[] nodes, Binding[] bindings) {
+            this.nodes = nodes;
+            this.bindings = bindings;
+        }
+
+        static BeanRowMapper<?> compile(Signature signature, String[] labels) throws Throwable {
+            Class<?> targetClass = signature.targetClass();
+            List<Node> nodes = new ArrayList<>();
+            nodes.add(new Node(-1, null, targetClass.getDeclaredConstructor()));
+            Map<String, Integer> nodeIndexes = new LinkedHashMap<>();
+            List<Binding> bindings = new ArrayList<>();
+
+            for (int i = 0; i < labels.length; i++) {
+                String columnName = labels[i];
+                if (!columnName.contains(".")) {
+                    Field field = getField(targetClass, columnName, signature.ignoreUnknownField());
+                    if (field != null) {
+                        bindings.add(Binding.of(i + 1, 0, field));
+                    }
+                    continue;
+                }
+
+                String[] columnNames = columnName.split("\\.");
+                int node = 0;
+                Class<?> fieldType = targetClass;
+                StringBuilder path = new StringBuilder();
+                for (int j = 0; j < columnNames.length; j++) {
+                    String column = signature.aliasObjectFieldMap().getOrDefault(columnNames[j], columnNames[j]);
+                    Field field = getField(fieldType, column, signature.ignoreUnknownField());
+                    if (j == columnNames.length - 1) {
+                        // unknown leaf field still creates the nested objects of its path
+                        bindings.add(Binding.of(i + 1, node, field));
+                        continue;
+                    }
+                    if (field == null) {
+                        continue;
+                    }
+
+                    path.append(path.isEmpty() ? "" : ".").append(column);
+                    fieldType = field.getType();
+                    Integer index = nodeIndexes.get(path.toString());
+                    if (index == null) {
+                        nodes.add(new Node(node, FieldAccessor.of(field), fieldType.getDeclaredConstructor()));
+                        index = nodes.size() - 1;
+                        nodeIndexes.put(path.toString(), index);
+                    }
+                    node = index;
+                }
+            }
+
+            return new BeanRowMapper<>(nodes.toArray(Node[]::new), bindings.toArray(Binding[]::new));
+        }
+
+        @Override
+        public T mapRow(ResultSet rs) throws Throwable {
+            Object[] instances = new Object[nodes.length];
+            instances[0] = nodes[0].constructor().newInstance();
+            for (Binding binding : bindings) {
+                Object instance = instance(instances, binding.node());
+                if (binding.accessor() == null) {
+                    continue;
+                }
+                binding.bind(rs, instance);
+            }
+            // the root node is constructed from the target class
+            @SuppressWarnings("unchecked")
+            T root = (T) instances[0];
+            return root;
+        }
+
+        private Object instance(Object[] instances, int index) throws Throwable {
+            Object instance = instances[index];
+            if (instance == null) {
+                Node node = nodes[index];
+                Object parent = instance(instances, node.parent());
+                instance = node.constructor().newInstance();
+                node.accessor().set(parent, instance);
+                instances[index] = instance;
+            }
+            return instance;
+        }
+
+        private static Field getField(Class<?> clazz, String columnName, boolean ignoreUnknownField)
+            throws Exception {
+            Field field = ClassUtils.getFieldByName(clazz, columnName);
+            if (field == null) {
+                if (ignoreUnknownField) {
+                    return null;
+                }
+
+                throw new NoSuchFieldException(clazz + " cannot found field: " + columnName);
+            }
+            return field;
+        }
+    }
+
+    /**
+     * object of the row, root object or nested object set into the field of its parent.
+     */
+    private record Node(int parent, FieldAccessor accessor, Constructor<?> constructor) {
+
+    }
+
+    /**
+     * column index to field, int, long, double and boolean fields are read from the ResultSet without boxing.
+     */
+    private record Binding(int column, int node, FieldAccessor accessor, Class<?> type, ColumnConverter converter) {
+
+        static Binding of(int column, int node, Field field) throws IllegalAccessException {
+            if (field == null) {
+                return new Binding(column, node, null, null, null);
+            }
+            return new Binding(column, node, FieldAccessor.of(field), field.getType(),
+                new ColumnConverter(field.getType()));
+        }
+
+        void bind(ResultSet rs, Object instance) throws Throwable {
+            if (type == int.class) {
+                accessor.setInt(instance, rs.getInt(column));
+            } else if (type == long.class) {
+                accessor.setLong(instance, rs.getLong(column));
+            } else if (type == double.class) {
+                accessor.setDouble(instance, rs.getDouble(column));
+            } else if (type == boolean.class) {
+                accessor.setBoolean(instance, rs.getBoolean(column));
+            } else {
+                accessor.set(instance, converter.convert(rs.getObject(column)));
+            }
+        }
+    }
+
+    private record Signature(Class<?> targetClass, Map<String, String> aliasObjectFieldMap,
+                             boolean ignoreUnknownField, List<String> labels, List<Integer> types) {
+
+    }
+}
@@ -7,45 +7,228 @@ import java.sql.Clob;
 import java.sql.Date;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Converts jdbc values into java types.
+ * <p>
+ * A converter is resolved once per (source class, target class) pair and cached, numeric and date/time values are
+ * converted directly, other values fall back to the general conversion of the target type.
+ */
 public class TypeConverter {
 
+    private static final Converter IDENTITY = value -> value;
+
+    private static final ClassValue<Map<Class<?>, Converter>> converter_cache = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, Converter> computeValue(Class<?> sourceType) {
+            return new ConcurrentHashMap<>(8);
+        }
+    };
+
     public static Object convert(Object value, Class<?> targetType) {
         if (value == null) {
             return null;
         }
 
-        if (targetType.isAssignableFrom(value.getClass())) {
-            return value;
+        return converter(value.getClass(), targetType).convert(value);
+    }
+
+    /**
+     * the converter of the non-null values of sourceType into targetType.
+     */
+    public static Converter converter(Class<?> sourceType, Class<?> targetType) {
+        Map<Class<?>, Converter> converters = converter_cache.get(sourceType);
+        Converter converter = converters.get(targetType);
+        if (converter == null) {
+            converter = create(sourceType, targetType);
+            converters.putIfAbsent(targetType, converter);
+        }
+        return converter;
+    }
+
+    private static Converter create(Class<?> sourceType, Class<?> targetType) {
+        if (targetType.isAssignableFrom(sourceType)) {
+            return IDENTITY;
+        }
+
+        Converter converter = directConverter(sourceType, targetType);
+        if (converter != null) {
+            return converter;
         }
 
         return switch (targetType.getName()) {
-            case "java.lang.String" -> toString(value);
-            case "java.lang.Integer", "int" -> toInteger(value);
-            case "java.lang.Long", "long" -> toLong(value);
-            case "java.lang.Double", "double" -> toDouble(value);
-            case "java.lang.Float", "float" -> toFloat(value);
-            case "java.lang.Boolean", "boolean" -> toBoolean(value);
-            case "java.lang.Byte", "byte" -> toByte(value);
-            case "java.lang.Short", "short" -> toShort(value);
-            case "java.math.BigDecimal" -> toBigDecimal(value);
-            case "java.math.BigInteger" -> toBigInteger(value);
-            case "java.time.LocalDate" -> toLocalDate(value);
-            case "java.time.LocalTime" -> toLocalTime(value);
-            case "java.time.LocalDateTime" -> toLocalDateTime(value);
-            case "java.sql.Date" -> toDate(value);
-            case "java.sql.Time" -> toTime(value);
-            case "java.sql.Timestamp" -> toTimestamp(value);
-            case "[B" -> toByteArray(value); // byte[]
-            case "java.sql.Blob" -> toBlob(value);
-            case "java.sql.Clob" -> toClob(value);
-            default -> value;
+            case "java.lang.String" -> TypeConverter::toString;
+            case "java.lang.Integer", "int" -> TypeConverter::toInteger;
+            case "java.lang.Long", "long" -> TypeConverter::toLong;
+            case "java.lang.Double", "double" -> TypeConverter::toDouble;
+            case "java.lang.Float", "float" -> TypeConverter::toFloat;
+            case "java.lang.Boolean", "boolean" -> TypeConverter::toBoolean;
+            case "java.lang.Byte", "byte" -> TypeConverter::toByte;
+            case "java.lang.Short", "short" -> TypeConverter::toShort;
+            case "java.math.BigDecimal" -> TypeConverter::toBigDecimal;
+            case "java.math.BigInteger" -> TypeConverter::toBigInteger;
+            case "java.time.LocalDate" -> TypeConverter::toLocalDate;
+            case "java.time.LocalTime" -> TypeConverter::toLocalTime;
+            case "java.time.LocalDateTime" -> TypeConverter::toLocalDateTime;
+            case "java.sql.Date" -> TypeConverter::toDate;
+            case "java.sql.Time" -> TypeConverter::toTime;
+            case "java.sql.Timestamp" -> TypeConverter::toTimestamp;
+            case "[B" -> TypeConverter::toByteArray; // byte[]
+            case "java.sql.Blob" -> TypeConverter::toBlob;
+            case "java.sql.Clob" -> TypeConverter::toClob;
+            default -> IDENTITY;
         };
     }
 
+    /**
+     * numeric widening and narrowing, date/time conversions, without parsing strings.
+     */
+    private static Converter directConverter(Class<?> sourceType, Class<?> targetType) {
+        Class<?> target = wrapperType(targetType);
+        if (Number.class.isAssignableFrom(sourceType)) {
+            if (target == Integer.class) {
+                return value -> ((Number) value).intValue();
+            }
+            if (target == Long.class) {
+                return value -> ((Number) value).longValue();
+            }
+            if (target == Double.class) {
+                return value -> ((Number) value).doubleValue();
+            }
+            if (target == Float.class) {
+                return value -> ((Number) value).floatValue();
+            }
+            if (target == Short.class) {
+                return value -> ((Number) value).shortValue();
+            }
+            if (target == Byte.class) {
+                return value -> ((Number) value).byteValue();
+            }
+            if (target == Boolean.class) {
+                return value -> ((Number) value).intValue() != 0;
+            }
+            if (target == BigDecimal.class) {
+                if (sourceType == Integer.class || sourceType == Long.class || sourceType == Short.class
+                    || sourceType == Byte.class) {
+                    return value -> BigDecimal.valueOf(((Number) value).longValue());
+                }
+                if (sourceType == Double.class) {
+                    return value -> BigDecimal.valueOf((Double) value);
+                }
+                if (sourceType == BigInteger.class) {
+                    return value -> new BigDecimal((BigInteger) value);
+                }
+            }
+            if (target == BigInteger.class && sourceType == BigDecimal.class) {
+                return value -> ((BigDecimal) value).toBigInteger();
+            }
+            return null;
+        }
+
+        if (sourceType == Boolean.class) {
+            if (target == Integer.class) {
+                return value -> (Boolean) value ? 1 : 0;
+            }
+            if (target == Long.class) {
+                return value -> (Boolean) value ? 1L : 0L;
+            }
+            if (target == Short.class) {
+                return value -> (short) ((Boolean) value ? 1 : 0);
+            }
+            return null;
+        }
+
+        if (sourceType == Timestamp.class) {
+            if (target == LocalDateTime.class) {
+                return value -> ((Timestamp) value).toLocalDateTime();
+            }
+            if (target == LocalDate.class) {
+                return value -> ((Timestamp) value).toLocalDateTime().toLocalDate();
+            }
+            if (target == LocalTime.class) {
+                return value -> ((Timestamp) value).toLocalDateTime().toLocalTime();
+            }
+            if (target == Instant.class) {
+                return value -> ((Timestamp) value).toInstant();
+            }
+            return null;
+        }
+
+        if (sourceType == LocalDateTime.class) {
+            if (target == LocalDate.class) {
+                return value -> ((LocalDateTime) value).toLocalDate();
+            }
+            if (target == LocalTime.class) {
+                return value -> ((LocalDateTime) value).toLocalTime();
+            }
+            return null;
+        }
+
+        if (sourceType == OffsetDateTime.class) {
+            if (target == LocalDateTime.class) {
+                return value -> ((OffsetDateTime) value).toLocalDateTime();
+            }
+            if (target == Instant.class) {
+                return value -> ((OffsetDateTime) value).toInstant();
+            }
+            if (target == Timestamp.class) {
+                return value -> Timestamp.from(((OffsetDateTime) value).toInstant());
+            }
+            return null;
+        }
+
+        if (sourceType == LocalDate.class && target == LocalDateTime.class) {
+            return value -> ((LocalDate) value).atStartOfDay();
+        }
+        if (sourceType == Date.class && target == LocalDate.class) {
+            return value -> ((Date) value).toLocalDate();
+        }
+        if (sourceType == Time.class && target == LocalTime.class) {
+            return value -> ((Time) value).toLocalTime();
+        }
+        return null;
+    }
+
+    private static Class<?> wrapperType(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        }
+        if (type == long.class) {
+            return Long.class;
+        }
+        if (type == double.class) {
+            return Double.class;
+        }
+        if (type == float.class) {
+            return Float.class;
+        }
+        if (type == boolean.class) {
+            return Boolean.class;
+        }
+        if (type == short.class) {
+            return Short.class;
+        }
+        if (type == byte.class) {
+            return Byte.class;
+        }
+        return type;
+    }
+
+    public interface Converter {
+
+        Object convert(Object value);
+    }
+
     private static String toString(Object value) {
         if (value instanceof byte[] bytes) {
             return new String(bytes);
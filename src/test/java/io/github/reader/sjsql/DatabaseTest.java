@@ -12,6 +12,7 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import javax.sql.DataSource;
 
 import java.sql.SQLException;
 import java.util.List;
@@ -23,6 +24,7 @@ public class DatabaseTest {
     static final String T_TENANT = "tenant";
     static final String T_PAYMENT_ORDER = "payment_order";
 
+    protected static DataSource dataSource;
     protected static SimpleJdbcClient jdbcClient;
 
     @BeforeAll
@@ -31,9 +33,10 @@ public class DatabaseTest {
         String databaseType = System.getProperty("test.db.type", "h2");
         System.err.println("==================databaseType: " + databaseType);
         switch (databaseType) {
-            case "mysql" -> jdbcClient = new SimpleJdbcClient(Mysql8TestDataSource.getDataSource());
-            default -> jdbcClient = new SimpleJdbcClient(H2TestDataSource.getDataSource());
+            case "mysql" -> dataSource = Mysql8TestDataSource.getDataSource();
+            default -> dataSource = H2TestDataSource.getDataSource();
         }
+        jdbcClient = new SimpleJdbcClient(dataSource);
 
         String[] sqls = {
             """
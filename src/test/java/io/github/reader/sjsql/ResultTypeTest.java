@@ -1,6 +1,8 @@
 package io.github.reader.sjsql;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -9,6 +11,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import io.github.reader.sjsql.SqlKeywords.Op;
 import io.github.reader.sjsql.model.Account;
 import io.github.reader.sjsql.model.Tenant;
+import io.github.reader.sjsql.result.ColumnarResult;
 import io.github.reader.sjsql.result.ResultType;
 import org.junit.jupiter.api.Test;
 
@@ -257,4 +260,64 @@ class ResultTypeTest extends DatabaseTest {
         assertEquals(4, count);
     }
 
+    @Test
+    void should_return_simple_type_list() throws Throwable {
+        SqlSelect sqlSelect = SqlSelect
+            .from(T_ACCOUNT, "a")
+            .select("a.id")
+            .orderBy("a.id");
+
+        final List<Long> ids = jdbcClient.queryForList(sqlSelect.toSql(), sqlSelect.params(), Long.class);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids);
+    }
+
+    @Test
+    void should_reuse_compiled_row_mapper_for_same_result_shape() throws Throwable {
+        SqlSelect sqlSelect = SqlSelect
+            .from(T_ACCOUNT, "a")
+            .select("a.id", "a.name")
+            .addColumn("b.id", "`tenant.id`")
+            .addColumn("b.name", "`tenant.name`")
+            .leftJoin(T_TENANT, "b", "a.id", "b.account_id")
+            .orderBy("a.id");
+
+        ResultType<List<Account>> resultType = ResultType.forList(Account.class);
+        for (int i = 0; i < 3; i++) {
+            final List<Account> accounts = jdbcClient.query(sqlSelect.toSql(), sqlSelect.params(), resultType);
+
+            assertEquals(4, accounts.size());
+            assertEquals("T1@test", accounts.get(0).getTenant().getName());
+            assertEquals("T2@test", accounts.get(1).getTenant().getName());
+            assertNotNull(accounts.get(2).getTenant());
+            assertNull(accounts.get(2).getTenant().getId());
+        }
+    }
+
+    @Test
+    void should_map_columns_into_primitive_arrays() {
+        ColumnarResult result = jdbcClient.queryForColumns("""
+            SELECT CAST(id AS BIGINT) AS id, CAST(enabled AS INT) AS enabled, CAST(id AS DOUBLE) * 1.5 AS score,
+                   name, CAST(CASE WHEN id = 2 THEN NULL ELSE id END AS BIGINT) AS optional_id
+            FROM account WHERE id <= 4 ORDER BY id
+            """, new Object[]{});
+
+        assertEquals(4, result.rowCount());
+        assertArrayEquals(new long[]{1, 2, 3, 4}, result.longs("id"));
+        assertArrayEquals(new int[]{1, 1, 0, 1}, result.ints("enabled"));
+        assertEquals(3.0, result.doubles("score")[1]);
+        assertEquals("Alice", result.objects("name")[0]);
+
+        int optionalId = result.columnIndex("optional_id");
+        assertEquals(0, result.longs(optionalId)[1]);
+        assertTrue(result.isNull(optionalId, 1));
+        assertFalse(result.isNull(optionalId, 2));
+        assertThrows(IllegalStateException.class, () -> result.ints("id"));
+
+        long[] ids = jdbcClient.queryForLongArray(
+            "SELECT CAST(id AS BIGINT) FROM account WHERE id <= ? ORDER BY id", new Object[]{4});
+        assertArrayEquals(new long[]{1, 2, 3, 4}, ids);
+        assertEquals(0, jdbcClient.queryForDoubleArray("SELECT 1.0 FROM account WHERE id < 0", new Object[]{}).length);
+    }
+
 }
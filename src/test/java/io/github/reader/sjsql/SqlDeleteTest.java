@@ -1,6 +1,7 @@
 package io.github.reader.sjsql;
 
 import static io.github.reader.sjsql.RefValue.ref;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -120,4 +122,49 @@ class SqlDeleteTest extends DatabaseTest {
         int[] result = execute_batch_update(sqlDelete.toSql(), sqlDelete.batchParams());
         assertEquals(2, result.length);
     }
+
+    @Test
+    void should_collapse_batch_delete_into_in_list() throws SQLException {
+        List<Map<String, Object>> maps = List.of(Map.of("id", 1), Map.of("id", 2), Map.of("id", 3), Map.of("id", 4));
+
+        SqlDelete sqlDelete = SqlDelete.batch("account", maps)
+                                       .where("id", Op.eq(ref("id")))
+                                       .collapse(3);
+        assertEquals("DELETE  FROM account WHERE id IN (?,?,?);", sqlDelete.toSql());
+
+        Object[][] params = sqlDelete.batchParams();
+        assertEquals(2, params.length);
+        // the last statement repeats its last row
+        assertArrayEquals(new Object[]{4, 4, 4}, params[1]);
+
+        int[] result = execute_batch_update(sqlDelete.toSql(), params);
+        assertEquals(4, Arrays.stream(result).sum());
+        assertEquals(0, jdbcClient.queryForObject("SELECT COUNT(*) FROM account WHERE id <= ?", new Object[]{4},
+            Long.class));
+    }
+
+    @Test
+    void should_collapse_batch_delete_of_composite_key() throws SQLException {
+        List<Map<String, Object>> maps = List.of(Map.of("id", 1, "account_id", 1), Map.of("id", 2, "account_id", 1));
+
+        SqlDelete sqlDelete = SqlDelete.batch("payment_order", maps)
+                                       .where("id", Op.eq(ref("id")))
+                                       .where("account_id", Op.eq(ref("account_id")))
+                                       .collapse(100);
+        assertEquals("DELETE  FROM payment_order WHERE (id,account_id) IN ((?,?),(?,?));", sqlDelete.toSql());
+        assertArrayEquals(new Object[]{1, 1, 2, 1}, sqlDelete.params());
+
+        int[] result = execute_batch_update(sqlDelete.toSql(), sqlDelete.batchParams());
+        assertEquals(2, Arrays.stream(result).sum());
+
+        assertThrows(IllegalStateException.class, () -> SqlDelete.batch("payment_order", maps)
+                                                                 .where("id", Op.eq(ref("id")))
+                                                                 .where("trade_no", Op.eq("TRADE001"))
+                                                                 .collapse(100)
+                                                                 .toSql());
+        // an IN list of the keys would delete the rows matching both
+        SqlDelete orKeys = SqlDelete.batch("payment_order", maps).where("id", Op.eq(ref("id")));
+        orKeys.where.or("account_id", Op.eq(ref("account_id")));
+        assertThrows(IllegalStateException.class, () -> orKeys.collapse(100).toSql());
+    }
 }
@@ -1,10 +1,14 @@
 package io.github.reader.sjsql;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.github.reader.sjsql.SqlKeywords.Op;
+import io.github.reader.sjsql.jdbc.SimpleJdbcClient.GeneratedKey;
 import io.github.reader.sjsql.model.Account;
 import org.junit.jupiter.api.Test;
 
@@ -12,6 +16,7 @@ import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -168,6 +173,163 @@ class SqlInsertTest extends DatabaseTest {
 
     }
 
+    @Test
+    void should_generate_multi_row_insert_split_by_bind_params() {
+        List<Account> accounts = buildAccounts(7, "multi-row.");
+
+        SqlInsert sqlInsert = SqlInsert.batch("account", accounts)
+                                       .multiRow(15);
+
+        List<String> sqls = sqlInsert.toSqlList();
+        Object[][] params = sqlInsert.batchParams();
+        assertEquals(3, sqls.size());
+        assertEquals(3, params.length);
+        assertTrue(sqls.getFirst().startsWith("INSERT INTO account ("));
+        assertTrue(sqls.getFirst().endsWith(" VALUES (?,?,?,?,?),(?,?,?,?,?),(?,?,?,?,?);"));
+        assertTrue(sqls.get(2).endsWith(" VALUES (?,?,?,?,?);"));
+        assertEquals(15, params[0].length);
+        assertEquals(5, params[2].length);
+        assertThrows(IllegalStateException.class, sqlInsert::toSql);
+        assertEquals(List.of(3, 3, 1), sqlInsert.statementRows());
+
+        // every statement runs with its params
+        assertArrayEquals(new int[]{3, 3, 1}, jdbcClient.insert(sqlInsert));
+
+        Account dbAccount = queryAccount(Map.of("code", Op.eq("multi-row.create007")));
+        assertEquals(accounts.get(6).getName(), dbAccount.getName());
+    }
+
+    @Test
+    void should_generate_multi_row_insert_split_by_bytes() {
+        List<Account> accounts = buildAccounts(4, "multi-bytes.");
+
+        SqlInsert sqlInsert = SqlInsert.batch("account", accounts)
+                                       .multiRow(1000, 400);
+
+        List<String> sqls = sqlInsert.toSqlList();
+        assertEquals(sqls.size(), sqlInsert.batchParams().length);
+        assertEquals(2, sqls.size());
+    }
+
+    @Test
+    void should_generate_single_multi_row_insert() {
+        List<Account> accounts = buildAccounts(3, "multi-one.");
+
+        SqlInsert sqlInsert = SqlInsert.batch("account", accounts)
+                                       .multiRow(1000);
+
+        assertEquals(15, sqlInsert.params().length);
+        assertEquals(3, execute_update(sqlInsert.toSql(), sqlInsert.params()));
+    }
+
+    @Test
+    void should_apply_generated_keys_to_entities() {
+        List<Account> accounts = buildAccounts(3, "keys.");
+
+        SqlInsert sqlInsert = SqlInsert.batch("account", accounts);
+        List<GeneratedKey> keys = jdbcClient.batchInsert(sqlInsert.toSql(), sqlInsert.batchParams(), List.of("id"));
+        sqlInsert.applyGeneratedKeys("id", keys.stream().map(GeneratedKey::getKey).toList());
+
+        for (Account account : accounts) {
+            assertNotNull(account.getId());
+            Account dbAccount = queryAccount(Map.of("id", Op.eq(account.getId())));
+            assertEquals(account.getCode(), dbAccount.getCode());
+        }
+
+        // the keys of the multi-row statements are in the order of the rows
+        List<Account> multiRow = buildAccounts(5, "multi-keys.");
+        SqlInsert multiRowInsert = SqlInsert.batch("account", multiRow).multiRow(10);
+        List<GeneratedKey> multiRowKeys = jdbcClient.batchInsert(multiRowInsert, List.of("id"));
+        multiRowInsert.applyGeneratedKeys("id", multiRowKeys.stream().map(GeneratedKey::getKey).toList());
+        for (Account account : multiRow) {
+            assertEquals(account.getCode(), queryAccount(Map.of("id", Op.eq(account.getId()))).getCode());
+        }
+    }
+
+    @Test
+    void should_generate_upsert_on_duplicate_key_update() {
+        List<Map<String, Object>> rows = List.of(upsertRow(1, "upsert test 1"), upsertRow(900, "upsert test 900"));
+
+        SqlInsert sqlInsert = SqlInsert.batch("account", rows).onConflict("id");
+        assertEquals("INSERT INTO account (id,name,email) VALUES (?,?,?)"
+            + " ON DUPLICATE KEY UPDATE name=VALUES(name),email=VALUES(email);", sqlInsert.toSql());
+
+        // id 1 exists, id 900 is new and reported 1 like an unchanged row by the found rows of the connection
+        int[] results = jdbcClient.batchUpdate(sqlInsert.toSql(), sqlInsert.batchParams());
+        assertEquals(List.of(SqlInsert.UpsertOutcome.UPDATED, SqlInsert.UpsertOutcome.INSERTED_OR_UNCHANGED),
+            sqlInsert.upsertOutcomes(results));
+        assertEquals("upsert test 1", queryAccount(Map.of("id", Op.eq(1))).getName());
+        assertEquals("upsert test 900", queryAccount(Map.of("id", Op.eq(900))).getName());
+
+        // the same rows again are unchanged, H2 reports every duplicate row as updated
+        int[] unchanged = jdbcClient.batchUpdate(sqlInsert.toSql(), sqlInsert.batchParams());
+        SqlInsert.UpsertOutcome outcome = jdbcClient.dialect() == Dialect.H2
+            ? SqlInsert.UpsertOutcome.UPDATED
+            : SqlInsert.UpsertOutcome.INSERTED_OR_UNCHANGED;
+        assertEquals(List.of(outcome, outcome), sqlInsert.upsertOutcomes(unchanged));
+
+        // MySQL 8.0.19 and later
+        assertEquals("INSERT INTO account (id,name,email) VALUES (?,?,?) AS new"
+                + " ON DUPLICATE KEY UPDATE name=new.name,email=new.email;",
+            SqlInsert.batch("account", rows).onConflict("id").rowAlias("new").toSql());
+
+        SqlInsert nameOnly = SqlInsert.batch("account", rows)
+                                      .onConflict(List.of("id"), List.of("name"))
+                                      .multiRow(1000);
+        assertEquals("INSERT INTO account (id,name,email) VALUES (?,?,?),(?,?,?)"
+            + " ON DUPLICATE KEY UPDATE name=VALUES(name);", nameOnly.toSql());
+        assertThrows(IllegalStateException.class, () -> SqlInsert.batch("account", rows).onConflict("code").toSql());
+    }
+
+    @Test
+    void should_generate_upsert_merge_into_key() {
+        List<Map<String, Object>> rows = List.of(upsertRow(2, "merge test 2"), upsertRow(901, "merge test 901"));
+
+        SqlInsert sqlInsert = SqlInsert.batch("account", rows)
+                                       .onConflict("id")
+                                       .dialect(Dialect.H2)
+                                       .multiRow(1000);
+        assertEquals("MERGE INTO account (id,name,email) KEY (id) VALUES (?,?,?),(?,?,?);", sqlInsert.toSql());
+        assertThrows(IllegalStateException.class, () -> SqlInsert.batch("account", rows)
+                                                                 .onConflict(List.of("id"), List.of("name"))
+                                                                 .dialect(Dialect.H2)
+                                                                 .toSql());
+
+        if (jdbcClient.dialect() == Dialect.H2) {
+            int result = execute_update(sqlInsert.toSql(), sqlInsert.params());
+            assertEquals(List.of(SqlInsert.UpsertOutcome.UPSERTED, SqlInsert.UpsertOutcome.UPSERTED),
+                sqlInsert.upsertOutcomes(new int[]{result}));
+            assertEquals("merge test 2", queryAccount(Map.of("id", Op.eq(2))).getName());
+            assertEquals("merge test 901", queryAccount(Map.of("id", Op.eq(901))).getName());
+        }
+    }
+
+    @Test
+    void should_interpret_upsert_outcomes() {
+        List<Map<String, Object>> rows = List.of(upsertRow(1, "a"), upsertRow(2, "b"), upsertRow(3, "c"));
+
+        SqlInsert batch = SqlInsert.batch("account", rows).onConflict("id");
+        assertEquals(List.of(SqlInsert.UpsertOutcome.INSERTED, SqlInsert.UpsertOutcome.UPDATED,
+            SqlInsert.UpsertOutcome.UNCHANGED), batch.upsertOutcomes(new int[]{1, 2, 0}, true));
+        // found rows, an unchanged row is 1 like an inserted row
+        assertEquals(List.of(SqlInsert.UpsertOutcome.INSERTED_OR_UNCHANGED, SqlInsert.UpsertOutcome.UPDATED,
+            SqlInsert.UpsertOutcome.INSERTED_OR_UNCHANGED), batch.upsertOutcomes(new int[]{1, 2, 1}));
+
+        // 2 rows per statement, the outcome of a statement is known when all its rows are updated
+        SqlInsert multiRow = SqlInsert.batch("account", rows).onConflict("id").multiRow(6);
+        assertEquals(List.of(SqlInsert.UpsertOutcome.UPDATED, SqlInsert.UpsertOutcome.UPDATED,
+            SqlInsert.UpsertOutcome.INSERTED), multiRow.upsertOutcomes(new int[]{4, 1}, true));
+        assertEquals(List.of(SqlInsert.UpsertOutcome.UNKNOWN, SqlInsert.UpsertOutcome.UNKNOWN,
+            SqlInsert.UpsertOutcome.UPDATED), multiRow.upsertOutcomes(new int[]{3, 2}, true));
+        assertEquals(List.of(SqlInsert.UpsertOutcome.INSERTED_OR_UNCHANGED,
+            SqlInsert.UpsertOutcome.INSERTED_OR_UNCHANGED, SqlInsert.UpsertOutcome.UNKNOWN),
+            multiRow.upsertOutcomes(new int[]{2, 3}));
+
+        assertThrows(IllegalArgumentException.class, () -> batch.upsertOutcomes(new int[]{1}));
+        assertThrows(IllegalStateException.class,
+            () -> SqlInsert.batch("account", rows).upsertOutcomes(new int[]{1, 1, 1}));
+    }
+
     @Test
     void should_throw_exception_with_empty_entities() {
         List<Object> emptyList = List.of();
@@ -177,6 +339,14 @@ class SqlInsertTest extends DatabaseTest {
     }
 
 
+    private static Map<String, Object> upsertRow(int id, String name) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("name", name);
+        row.put("email", "upsert" + id + "@test.com");
+        return row;
+    }
+
     private static List<Account> buildAccounts(int count) {
         return buildAccounts(count, "");
     }
@@ -2,6 +2,9 @@ package io.github.reader.sjsql;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import io.github.reader.sjsql.SqlKeywords.Op;
@@ -320,6 +323,8 @@ class SqlSelectTest extends DatabaseTest {
             + SqlKeywords.UNION
             + SqlKeywords.SELECT + "name" + SqlKeywords.FROM + T_TENANT + " b";
         assertEquals(expected, sqlSelect.toSql());
+        // the page would ignore the offset and limit
+        assertThrows(IllegalStateException.class, () -> sqlSelect.pageSql(0, 10));
 
         assert_run_sql(sqlSelect);
     }
@@ -1342,6 +1347,141 @@ class SqlSelectTest extends DatabaseTest {
         assertThrows(SQLException.class, () -> execute_query(sqlSelect.toSql(), sqlSelect.params()));
     }
 
+    @Test
+    void should_reuse_rendered_sql_of_same_shape() {
+        SqlSelect first = SqlSelect.from(T_ACCOUNT)
+                                   .select("id", "name")
+                                   .where("id", Op.in(List.of(1, 2)))
+                                   .where("code", Op.eq("a"))
+                                   .orderBy("id", false)
+                                   .limit(0, 10);
+        SqlSelect second = SqlSelect.from(T_ACCOUNT)
+                                    .select("id", "name")
+                                    .where("id", Op.in(List.of(3, 4)))
+                                    .where("code", Op.eq("b"))
+                                    .orderBy("id", false)
+                                    .limit(0, 10);
+
+        assertEquals(first.toSql(), second.toSql());
+        assertSame(first.totalRowSql(), second.totalRowSql());
+        assertArrayEquals(new Object[]{3, 4, "b"}, second.params());
+
+        SqlSelect otherShape = SqlSelect.from(T_ACCOUNT)
+                                        .select("id", "name")
+                                        .where("id", Op.in(List.of(1, 2, 3)))
+                                        .where("code", Op.eq("a"))
+                                        .orderBy("id", false)
+                                        .limit(0, 10);
+        assertNotEquals(first.toSql(), otherShape.toSql());
+
+        // the builder is still mutable after rendering
+        second.where("enabled", Op.eq(1));
+        assertEquals(first.toSql().replace(" ORDER BY", " AND enabled=? ORDER BY"), second.toSql());
+        assert_run_sql(second);
+    }
+
+    @Test
+    void should_render_pages_of_one_shape_and_evict_least_recently_used() {
+        SqlRenderCache.clear();
+        SqlSelect page = SqlSelect.from(T_ACCOUNT).select("id").where("code", Op.eq("a")).orderBy("id");
+        page.toSql();
+        int size = SqlRenderCache.size();
+        for (int offset = 0; offset < 100; offset += 10) {
+            page.limit(offset, 10);
+            assertEquals("SELECT id FROM account WHERE code=? ORDER BY id LIMIT " + offset + ", 10", page.toSql());
+        }
+        assertEquals(size, SqlRenderCache.size());
+
+        // the least recently used shapes are evicted, the shapes rendered after the cache is full are still cached
+        SqlSelect oldest = SqlSelect.from(T_ACCOUNT).select("id").where("email", Op.eq("a"));
+        String oldestSql = oldest.toSql();
+        for (int i = 0; i < 3000; i++) {
+            SqlSelect.from(T_ACCOUNT).select("id").where("code" + i, Op.eq("a")).toSql();
+        }
+        assertNotSame(oldestSql, oldest.toSql());
+        SqlSelect recent = SqlSelect.from(T_ACCOUNT).select("id").where("name", Op.eq("a"));
+        assertSame(recent.toSql(), recent.toSql());
+    }
+
+    @Test
+    void should_output_keyset_seek_sql() {
+        SqlSelect sqlSelect = SqlSelect.from(T_ACCOUNT)
+                                       .select("id", "name", "create_time")
+                                       .where("enabled", Op.eq(1))
+                                       .where.or("code", Op.is_not_null()).end()
+                                       .keyset("create_time", "id")
+                                       .limit(10);
+
+        assertEquals("SELECT id,name,create_time FROM account WHERE enabled=? OR (code IS NOT NULL)"
+            + " ORDER BY create_time,id LIMIT 0, 10", sqlSelect.toSql());
+
+        LocalDateTime lastCreateTime = LocalDateTime.of(2025, 9, 1, 10, 30, 0);
+        sqlSelect.seekAfter(lastCreateTime, 2L);
+        assertEquals("SELECT id,name,create_time FROM account WHERE (enabled=? OR (code IS NOT NULL))"
+            + " AND (create_time,id)>(?,?) ORDER BY create_time,id LIMIT 0, 10", sqlSelect.toSql());
+        assertArrayEquals(new Object[]{1, lastCreateTime, 2L}, sqlSelect.params());
+        assert_run_sql(sqlSelect);
+
+        // the totals count all pages
+        assertEquals("SELECT count(*) FROM account WHERE enabled=? OR (code IS NOT NULL)", sqlSelect.totalRowSql());
+        assertArrayEquals(new Object[]{1}, sqlSelect.countParams());
+        assert_execute_query(sqlSelect.totalRowSql(), sqlSelect.countParams());
+
+        // the offset would skip rows after the seek
+        assertThrows(IllegalStateException.class, () -> sqlSelect.limit(10, 10).toSql());
+        assertThrows(IllegalStateException.class, () -> sqlSelect.pageSql(10, 10));
+
+        SqlSelect descending = SqlSelect.from(T_ACCOUNT).keyset(false, "id").seekAfter(3).limit(2);
+        assertEquals("SELECT * FROM account WHERE id<? ORDER BY id DESC  LIMIT 0, 2", descending.toSql());
+        assertThrows(IllegalArgumentException.class, () -> descending.seekAfter(1, 2));
+        assertThrows(IllegalStateException.class, () -> descending.orderBy("name").toSql());
+    }
+
+    @Test
+    void should_collect_tables_of_select() {
+        SqlSelect tenants = SqlSelect.from(T_TENANT).select("account_id").where("enabled", Op.eq(1));
+        SqlSelect sqlSelect = SqlSelect.from("`Account`", "a")
+                                       .leftJoin(SqlSelect.from(T_PAYMENT_ORDER), "p", "a.id", "p.account_id")
+                                       .where("a.id", Op.in(tenants))
+                                       .where.exists(SqlSelect.from("db.audit_log")).end();
+
+        assertEquals(List.of("account", "payment_order", "tenant", "audit_log"),
+            List.copyOf(sqlSelect.tables()));
+        assertEquals(List.of("account", "tenant"),
+            List.copyOf(SqlSelect.from(T_ACCOUNT).unionAll(T_TENANT, "t").tables()));
+    }
+
+
+    @Test
+    void should_pad_in_list_to_bucket_size() {
+        InListPadding padding = InListPadding.powersOfTwo();
+        SqlSelect select3 = SqlSelect.from(T_ACCOUNT).inListPadding(padding).where("id", Op.in(List.of(1, 2, 3)));
+        SqlSelect select4 = SqlSelect.from(T_ACCOUNT).inListPadding(padding).where("id", Op.in(List.of(1, 2, 3, 4)));
+        SqlSelect notIn = SqlSelect.from(T_ACCOUNT).inListPadding(padding).where("id", Op.in(List.of(1, 2, 3), true));
+
+        assertEquals("SELECT * FROM account WHERE id IN (?,?,?,?)", select3.toSql());
+        assertEquals(select3.toSql(), select4.toSql());
+        // the last value is repeated
+        assertArrayEquals(new Object[]{1, 2, 3, 3}, select3.params());
+        assertEquals("SELECT * FROM account WHERE id NOT IN (?,?,?,?)", notIn.toSql());
+        assertEquals(3, jdbcClient.query(select3.toSql(), select3.params()).size());
+
+        InListPadding.Stats stats = padding.stats();
+        assertEquals(3, stats.lists());
+        assertEquals(2, stats.paddedLists());
+        assertEquals(2, stats.paddedParams());
+        assertEquals(1, stats.shapesRemoved());
+
+        // the builders without padding are not padded
+        assertEquals("SELECT * FROM account WHERE id IN (?,?,?)",
+            SqlSelect.from(T_ACCOUNT).where("id", Op.in(List.of(1, 2, 3))).toSql());
+        assertEquals(3, padding.stats().lists());
+
+        InListPadding buckets = InListPadding.buckets(10, 100);
+        assertEquals(200, SqlSelect.from(T_ACCOUNT).inListPadding(buckets)
+                                   .where("id", Op.in(Arrays.asList(new Integer[150]))).params().length);
+        assertThrows(IllegalArgumentException.class, () -> InListPadding.buckets(10, 5));
+    }
 
     private void assert_run_sql(SqlSelect sqlSelect) {
         assert_execute_query(sqlSelect.toSql(), sqlSelect.params());
@@ -260,6 +260,60 @@ class SqlUpdateTest extends DatabaseTest {
         assertFalse(dbAccount.getEnabled());
     }
 
+    @Test
+    void should_collapse_batch_update_into_case_statements() throws SQLException {
+        List<Account> accounts = getAccounts();
+        SqlUpdate update = SqlUpdate.batch("account", accounts)
+                                    .set$("name")
+                                    .set$("code")
+                                    .set("enabled", 0)
+                                    .where("id", eq(RefValue.ref("id")))
+                                    .collapse(3);
+
+        assertEquals("UPDATE account SET name=CASE id WHEN ? THEN ? WHEN ? THEN ? WHEN ? THEN ? ELSE name END,"
+            + "code=CASE id WHEN ? THEN ? WHEN ? THEN ? WHEN ? THEN ? ELSE code END,enabled=?"
+            + " WHERE id IN (?,?,?);", update.toSql());
+
+        Object[][] batchParams = update.batchParams();
+        assertEquals(2, batchParams.length);
+        // the last statement repeats the row of id 4
+        assertArrayEquals(new Object[]{4L, "Entity-test-4", 4L, "Entity-test-4", 4L, "Entity-test-4",
+            4L, "ENTITY004", 4L, "ENTITY004", 4L, "ENTITY004", 0, 4L, 4L, 4L}, batchParams[1]);
+
+        final int[] result = execute_batch_update(update);
+        assertEquals(3, result[0]);
+        assertEquals(1, result[1]);
+
+        for (Account account : accounts) {
+            Account dbAccount = queryAccount(Map.of("id", eq(account.getId())));
+            assertEquals(account.getName(), dbAccount.getName());
+            assertEquals(account.getCode(), dbAccount.getCode());
+            assertFalse(dbAccount.getEnabled());
+        }
+
+        assertThrows(IllegalStateException.class, () -> SqlUpdate.batch("account", accounts)
+                                                                 .set$("name")
+                                                                 .where("code", eq("ENTITY001"))
+                                                                 .collapse(3)
+                                                                 .toSql());
+
+        // the last entity of a key wins like in the batch of row statements
+        Account first = new Account();
+        first.setId(accounts.getFirst().getId());
+        first.setName("collapse first");
+        Account last = new Account();
+        last.setId(first.getId());
+        last.setName("collapse last");
+        SqlUpdate duplicates = SqlUpdate.batch("account", List.of(first, last))
+                                        .set$("name")
+                                        .where("id", eq(RefValue.ref("id")))
+                                        .collapse(3);
+        assertEquals("UPDATE account SET name=CASE id WHEN ? THEN ? ELSE name END WHERE id IN (?);",
+            duplicates.toSql());
+        execute_batch_update(duplicates);
+        assertEquals("collapse last", queryAccount(Map.of("id", eq(first.getId()))).getName());
+    }
+
     private static List<Account> getAccounts() {
         List<Account> accounts = new ArrayList<>();
         for (int i = 1; i < 5; i++) {
@@ -0,0 +1,102 @@
+package io.github.reader.sjsql.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.reader.sjsql.DatabaseTest;
+import io.github.reader.sjsql.jdbc.AsyncJdbcClient.FanOut;
+import io.github.reader.sjsql.jdbc.AsyncJdbcClient.Subtask;
+import io.github.reader.sjsql.model.Account;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+class AsyncJdbcClientTest extends DatabaseTest {
+
+    // runs for minutes unless cancelled
+    private static final String SLOW_SQL =
+        "SELECT COUNT(*) FROM SYSTEM_RANGE(1, 100000) a, SYSTEM_RANGE(1, 100000) b WHERE a.x + b.x > 0";
+
+    private AsyncJdbcClient asyncJdbcClient;
+
+    @BeforeEach
+    void setUp() {
+        asyncJdbcClient = new AsyncJdbcClient(jdbcClient, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncJdbcClient.close();
+    }
+
+    @Test
+    void should_query_and_update_async() {
+        CompletableFuture<Integer> updated = asyncJdbcClient.update(
+            "UPDATE account SET code = ? WHERE id = ?", new Object[]{"async-code", 1});
+        assertEquals(1, updated.join());
+
+        CompletableFuture<Account> account = asyncJdbcClient.queryForObject(
+            "SELECT id, name, code FROM account WHERE id = ?", new Object[]{1}, Account.class);
+        assertEquals("async-code", account.join().getCode());
+
+        CompletableFuture<int[]> results = asyncJdbcClient.batchUpdate(
+            "INSERT INTO account (name, code) VALUES (?, ?)",
+            new Object[][]{{"async-test1", "a1"}, {"async-test2", "a2"}});
+        assertEquals(2, results.join().length);
+    }
+
+    @Test
+    void should_fan_out_independent_queries() {
+        try (FanOut fanOut = asyncJdbcClient.fanOut(Duration.ofSeconds(5))) {
+            Subtask<List<Account>> accounts = fanOut.fork(
+                client -> client.queryForList("SELECT id, name FROM account ORDER BY id", new Object[]{}, Account.class));
+            Subtask<Integer> tenants = fanOut.fork(
+                client -> client.queryForObject("SELECT COUNT(*) FROM tenant", new Object[]{}, Integer.class));
+
+            fanOut.join();
+
+            assertEquals(4, accounts.get().size());
+            assertEquals(2, tenants.get());
+        }
+    }
+
+    @Test
+    void should_cancel_siblings_when_one_fails() {
+        long start = System.nanoTime();
+        Subtask<Integer> slow;
+        try (FanOut fanOut = asyncJdbcClient.fanOut(Duration.ofSeconds(30))) {
+            slow = fanOut.fork(client -> client.queryForObject(SLOW_SQL, new Object[]{}, Long.class));
+            fanOut.fork(client -> client.query("SELECT * FROM not_exists_table", new Object[]{}));
+
+            assertThrows(JdbcDataAccessException.class, fanOut::join);
+        }
+
+        assertFalse(slow.isDone());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toSeconds() < 10);
+    }
+
+    @Test
+    void should_throw_exception_when_fan_out_deadline_exceeded() {
+        long start = System.nanoTime();
+        try (FanOut fanOut = asyncJdbcClient.fanOut(Duration.ofMillis(100))) {
+            fanOut.fork(client -> client.queryForObject(SLOW_SQL, new Object[]{}, Long.class));
+
+            assertThrows(JdbcDataAccessException.class, fanOut::join);
+        }
+        // the statement is cancelled, closing the client does not wait for it
+        asyncJdbcClient.close();
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toSeconds() < 10);
+    }
+
+    @Test
+    void should_throw_exception_when_used_in_transaction() {
+        assertThrows(RuntimeException.class, () -> jdbcClient.transaction(
+            () -> asyncJdbcClient.query("SELECT * FROM account", new Object[]{}).join()));
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.reader.sjsql.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.reader.sjsql.DatabaseTest;
+import io.github.reader.sjsql.model.Account;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+class QueryStatsRecorderTest extends DatabaseTest {
+
+    private final QueryStatsRecorder recorder = new QueryStatsRecorder();
+    private final List<QueryEvent> events = new ArrayList<>();
+    private final QueryListener eventCollector = events::add;
+
+    @BeforeEach
+    void setUp() {
+        jdbcClient.addQueryListener(recorder).addQueryListener(eventCollector);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcClient.removeQueryListener(recorder).removeQueryListener(eventCollector);
+    }
+
+    @Test
+    void should_normalize_sql_fingerprint() {
+        assertEquals("SELECT * FROM account WHERE id IN (?+) AND code = ?",
+            SqlFingerprint.of("SELECT *  FROM account\n WHERE id IN (1, 2, 3) AND code = 'it''s';"));
+        assertEquals("INSERT INTO account (name,code) VALUES (?+)",
+            SqlFingerprint.of("INSERT INTO account (name,code) VALUES (?,?),(?,?)"));
+        assertEquals("SELECT name1 FROM t2 LIMIT ?", SqlFingerprint.of("SELECT name1 FROM t2 LIMIT 10"));
+    }
+
+    @Test
+    void should_record_stats_by_fingerprint() {
+        String sql = "SELECT id, name FROM account WHERE id = ?";
+        for (int i = 1; i <= 3; i++) {
+            jdbcClient.queryForObject(sql, new Object[]{i}, Account.class);
+        }
+        jdbcClient.queryForList("SELECT id, name FROM account ORDER BY id", new Object[]{}, Account.class);
+
+        QueryStats stats = recorder.stats(SqlFingerprint.of(sql));
+        assertNotNull(stats);
+        assertEquals(3, stats.count());
+        assertEquals(0, stats.errors());
+        assertEquals(3, stats.rows());
+        assertEquals(3, stats.latency().count());
+        assertTrue(stats.percentile(99) > 0);
+        assertTrue(stats.percentile(50) <= stats.percentile(99));
+
+        QueryEvent listEvent = events.getLast();
+        assertEquals(4, listEvent.rows());
+        assertTrue(listEvent.isSuccess());
+        assertEquals(listEvent.totalNanos(), listEvent.connectionNanos() + listEvent.prepareNanos()
+            + listEvent.executeNanos() + listEvent.mappingNanos());
+
+        // a single object reads every row of the result
+        jdbcClient.queryForObject("SELECT id, name FROM account ORDER BY id", new Object[]{}, Account.class);
+        assertEquals(4, events.getLast().rows());
+    }
+
+    @Test
+    void should_record_updates_streams_and_errors() {
+        int updated = jdbcClient.update("UPDATE account SET code = ? WHERE id = ?", new Object[]{"stats", 1});
+        assertEquals(updated, events.getLast().rows());
+
+        try (Stream<Account> accounts = jdbcClient.queryForStream("SELECT id, name FROM account", new Object[]{},
+            Account.class)) {
+            assertEquals(4, accounts.count());
+        }
+        assertEquals(4, events.getLast().rows());
+
+        assertThrows(JdbcDataAccessException.class,
+            () -> jdbcClient.query("SELECT * FROM not_exists_table", new Object[]{}));
+        QueryEvent failed = events.getLast();
+        assertFalse(failed.isSuccess());
+        assertEquals(1, recorder.stats(failed.fingerprint()).errors());
+    }
+
+    @Test
+    void should_record_percentiles_within_bucket_precision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(1000, histogram.count());
+        assertEquals(1_000_000, histogram.max());
+        assertEquals(1_000_000, histogram.percentile(100));
+        assertEquals(500_000, histogram.percentile(50), 500_000 * 0.07);
+        assertEquals(990_000, histogram.percentile(99), 990_000 * 0.07);
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(101));
+    }
+}
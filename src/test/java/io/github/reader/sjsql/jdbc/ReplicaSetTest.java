@@ -0,0 +1,154 @@
+package io.github.reader.sjsql.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.reader.sjsql.DatabaseTest;
+import io.github.reader.sjsql.Page;
+import io.github.reader.sjsql.Pageable;
+import io.github.reader.sjsql.SqlSelect;
+import io.github.reader.sjsql.jdbc.ReplicaSet.Balancing;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import javax.sql.DataSource;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+class ReplicaSetTest extends DatabaseTest {
+
+    private static final String MARKER_SQL = "SELECT name FROM replica_marker";
+
+    private ReplicaSet replicaSet;
+    private SimpleJdbcClient client;
+
+    @BeforeEach
+    void setUp() {
+        jdbcClient.execute("CREATE TABLE IF NOT EXISTS replica_marker (name VARCHAR(20), lag_seconds INT)");
+        jdbcClient.execute("DELETE FROM replica_marker");
+        jdbcClient.update("INSERT INTO replica_marker (name, lag_seconds) VALUES (?, ?)", new Object[]{"primary", 0});
+
+        replicaSet = new ReplicaSet(List.of(replica("replica1", 0), replica("replica2", 60)));
+        client = new SimpleJdbcClient(dataSource).replicas(replicaSet);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicaSet.close();
+    }
+
+    @Test
+    void should_route_queries_to_replicas_round_robin() {
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            names.add(client.queryForObject(MARKER_SQL, new Object[]{}, String.class));
+        }
+        assertEquals(Set.of("replica1", "replica2"), names);
+
+        client.update("UPDATE replica_marker SET lag_seconds = ?", new Object[]{1});
+        assertEquals("primary", client.readFromPrimary(() -> client.queryForObject(MARKER_SQL, new Object[]{}, String.class)));
+        assertEquals("primary", client.transaction(() -> client.queryForObject(MARKER_SQL, new Object[]{}, String.class)));
+    }
+
+    @Test
+    void should_read_your_writes_from_primary() throws InterruptedException {
+        client.readYourWrites(Duration.ofMinutes(1));
+        client.resultCache(new QueryResultCache(100, 1024 * 1024, Duration.ofMinutes(1)));
+        SqlSelect marker = SqlSelect.from("replica_marker").select("name");
+        assertTrue(client.queryForObject(MARKER_SQL, new Object[]{}, String.class).startsWith("replica"));
+        assertTrue(client.queryForObject(marker, String.class).startsWith("replica"));
+
+        // the write of another thread opens the window of the client
+        Thread writer = Thread.ofVirtual().start(
+            () -> client.update("UPDATE replica_marker SET lag_seconds = ?", new Object[]{2}));
+        writer.join();
+        assertEquals("primary", client.queryForObject(MARKER_SQL, new Object[]{}, String.class));
+        // the invalidated result is loaded from the primary
+        assertEquals("primary", client.queryForObject(marker, String.class));
+    }
+
+    @Test
+    void should_route_work_of_other_threads_like_the_caller() {
+        jdbcClient.update("INSERT INTO replica_marker (name, lag_seconds) VALUES (?, ?), (?, ?)",
+            new Object[]{"primary2", 0, "primary3", 0});
+        SqlSelect markers = SqlSelect.from("replica_marker").select("name").orderBy("name");
+
+        // the count runs on another thread
+        Page<Map> page = client.readFromPrimary(() -> client.page(markers, Map.class, Pageable.of(0, 2)));
+        assertEquals(3, page.total());
+
+        try (AsyncJdbcClient async = new AsyncJdbcClient(client, 2)) {
+            assertEquals("primary", client.readFromPrimary(
+                () -> async.queryForObject(MARKER_SQL + " ORDER BY name", new Object[]{}, String.class).join()));
+            assertTrue(async.queryForObject(MARKER_SQL, new Object[]{}, String.class).join().startsWith("replica"));
+
+            client.readYourWrites(Duration.ofMinutes(1));
+            client.update("UPDATE replica_marker SET lag_seconds = ?", new Object[]{3});
+            assertEquals("primary", async.queryForObject(MARKER_SQL + " ORDER BY name", new Object[]{}, String.class)
+                                         .join());
+        }
+    }
+
+    @Test
+    void should_take_replicas_out_of_rotation() {
+        replicaSet.markDown(0);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("replica2", client.queryForObject(MARKER_SQL, new Object[]{}, String.class));
+        }
+
+        replicaSet.markDown(1);
+        assertEquals("primary", client.queryForObject(MARKER_SQL, new Object[]{}, String.class));
+
+        // replica2 lags 60 seconds behind
+        replicaSet.markUp(0);
+        replicaSet.markUp(1);
+        replicaSet.lagProbe(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT lag_seconds FROM replica_marker")) {
+                rs.next();
+                return Duration.ofSeconds(rs.getInt(1));
+            }
+        }, Duration.ofSeconds(10));
+        replicaSet.checkLag();
+        assertTrue(replicaSet.status().get(0).available());
+        assertFalse(replicaSet.status().get(1).available());
+        assertEquals(Duration.ofSeconds(60), replicaSet.status().get(1).lag());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("replica1", client.queryForObject(MARKER_SQL, new Object[]{}, String.class));
+        }
+    }
+
+    @Test
+    void should_balance_by_least_in_flight() {
+        replicaSet.balancing(Balancing.LEAST_IN_FLIGHT);
+        try (Stream<String> stream = client.queryForStream(MARKER_SQL, new Object[]{}, String.class)) {
+            String streaming = stream.findFirst().orElseThrow();
+            String other = streaming.equals("replica1") ? "replica2" : "replica1";
+            for (int i = 0; i < 3; i++) {
+                assertEquals(other, client.queryForObject(MARKER_SQL, new Object[]{}, String.class));
+            }
+        }
+        assertEquals(0, replicaSet.status().stream().mapToInt(ReplicaSet.ReplicaStatus::inFlight).sum());
+    }
+
+    private static DataSource replica(String name, int lagSeconds) {
+        JdbcDataSource replica = new JdbcDataSource();
+        replica.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false;MODE=MySQL");
+        replica.setUser("sa");
+        SimpleJdbcClient replicaClient = new SimpleJdbcClient(replica);
+        replicaClient.execute("CREATE TABLE IF NOT EXISTS replica_marker (name VARCHAR(20), lag_seconds INT)");
+        replicaClient.execute("DELETE FROM replica_marker");
+        replicaClient.update("INSERT INTO replica_marker (name, lag_seconds) VALUES (?, ?)",
+            new Object[]{name, lagSeconds});
+        return replica;
+    }
+}
@@ -3,16 +3,34 @@ package io.github.reader.sjsql.jdbc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import io.github.reader.sjsql.DatabaseTest;
+import io.github.reader.sjsql.KeysetPage;
+import io.github.reader.sjsql.Page;
+import io.github.reader.sjsql.Pageable;
+import io.github.reader.sjsql.SqlKeywords.Op;
+import io.github.reader.sjsql.SqlSelect;
+import io.github.reader.sjsql.jdbc.ParallelBatchResult.ChunkFailure;
 import io.github.reader.sjsql.jdbc.SimpleJdbcClient.GeneratedKey;
+import io.github.reader.sjsql.jdbc.SimpleJdbcClient.StatementCacheStats;
+import io.github.reader.sjsql.model.Account;
+import io.github.reader.sjsql.result.ColumnarResult;
+import io.github.reader.sjsql.result.ResultType;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 class SimpleJdbcClientTest extends DatabaseTest {
 
@@ -129,6 +147,59 @@ class SimpleJdbcClientTest extends DatabaseTest {
         assertEquals(0, results2.length);
     }
 
+    @Test
+    void should_parallel_batch_update() {
+        final Object[][] batchParams = buildParams(1000, "pbu");
+
+        ParallelBatchResult result = jdbcClient.parallelBatchUpdate(
+            "INSERT INTO account (name, code) VALUES (?, ?)",
+            batchParams,
+            100,
+            4
+        );
+
+        assertTrue(result.isSuccess());
+        assertEquals(1000, result.rowsAffected().length);
+        for (int rows : result.rowsAffected()) {
+            assertEquals(1, rows);
+        }
+
+        Integer count = jdbcClient.queryForObject(
+            "SELECT COUNT(*) FROM account where code like 'pbucode%'",
+            new Object[]{},
+            Integer.class
+        );
+        assertEquals(1000, count);
+    }
+
+    @Test
+    void should_report_chunk_failures_when_parallel_batch_update() {
+        Object[][] batchParams = new Object[30][];
+        for (int i = 0; i < batchParams.length; i++) {
+            batchParams[i] = new Object[]{1000 + i, "pbu-test" + i, "pbu-fail" + i};
+        }
+        // duplicate primary key in the second chunk
+        batchParams[15][0] = 1;
+
+        ParallelBatchResult result = jdbcClient.parallelBatchUpdate(
+            "INSERT INTO account (id, name, code) VALUES (?, ?, ?)",
+            batchParams,
+            10,
+            3
+        );
+
+        assertEquals(1, result.failures().size());
+        ChunkFailure failure = result.failures().getFirst();
+        assertEquals(1, failure.chunk());
+        assertEquals(10, failure.fromRow());
+        assertEquals(20, failure.toRow());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, result.rowsAffected()[i]);
+            assertEquals(1, result.rowsAffected()[20 + i]);
+        }
+        assertTrue(result.rowsAffected()[15] < 0);
+    }
+
     @Test
     void should_commit_transaction() {
         jdbcClient.transaction(() -> {
@@ -181,6 +252,241 @@ class SimpleJdbcClientTest extends DatabaseTest {
         assertEquals(new BigDecimal("0.00").doubleValue(), bBalance.doubleValue(), 0.01);
     }
 
+    @Test
+    void should_reuse_prepared_statements_in_transaction() {
+        SimpleJdbcClient client = new SimpleJdbcClient(dataSource).statementCacheSize(16);
+
+        client.transaction(() -> {
+            for (int i = 0; i < 10; i++) {
+                client.update("update tenant set balance = balance + ? where id=?", new Object[]{1, 1});
+                client.queryForObject("SELECT balance FROM tenant WHERE id = ?", new Object[]{1}, BigDecimal.class);
+            }
+            return null;
+        });
+
+        StatementCacheStats stats = client.statementCacheStats();
+        assertEquals(2, stats.misses());
+        assertEquals(18, stats.hits());
+
+        BigDecimal balance = client.queryForObject("SELECT balance FROM tenant WHERE id = ?", new Object[]{1},
+            BigDecimal.class);
+        assertEquals(10.0, balance.doubleValue(), 0.01);
+        assertEquals(2, client.statementCacheStats().misses());
+    }
+
+    @Test
+    void should_return_generated_keys_when_batch_insert() {
+        final Object[][] batchParams = buildParams(5, "bi");
+
+        List<GeneratedKey> keys = jdbcClient.batchInsert(
+            "INSERT INTO account (name, code) VALUES (?, ?)",
+            batchParams,
+            2,
+            List.of("id")
+        );
+
+        assertEquals(5, keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            long id = keys.get(i).getKey().longValue();
+            if (i > 0) {
+                assertTrue(id > keys.get(i - 1).getKey().longValue());
+            }
+            String code = jdbcClient.queryForObject("SELECT code FROM account WHERE id = ?", new Object[]{id},
+                String.class);
+            assertEquals("bicode" + (i + 1), code);
+        }
+    }
+
+    @Test
+    void should_walk_all_rows_by_keyset_pages() {
+        SqlSelect sqlSelect = SqlSelect.from("account")
+                                       .select("id", "name")
+                                       .keyset("id")
+                                       .limit(3);
+
+        List<Long> ids = new ArrayList<>();
+        int pages = 0;
+        Iterator<KeysetPage<Account>> iterator = jdbcClient.keysetIterator(sqlSelect, Account.class);
+        while (iterator.hasNext()) {
+            KeysetPage<Account> page = iterator.next();
+            page.rows().forEach(account -> ids.add(account.getId()));
+            pages++;
+        }
+
+        List<Long> expected = jdbcClient.queryForList("SELECT id FROM account ORDER BY id", new Object[]{}, Long.class);
+        assertEquals(expected, ids);
+        assertEquals((expected.size() + 2) / 3, pages);
+    }
+
+    @Test
+    void should_query_page_with_concurrent_count() {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        SimpleJdbcClient client = new SimpleJdbcClient(dataSource)
+            .countCacheTtl(Duration.ofMinutes(1))
+            .addQueryListener(event -> executed.add(event.sql()));
+        long expectedTotal = client.queryForObject("SELECT COUNT(*) FROM account", new Object[]{}, Long.class);
+        executed.clear();
+
+        SqlSelect sqlSelect = SqlSelect.from("account").select("id", "name").orderBy("id");
+        Page<Account> page = client.page(sqlSelect, Account.class, Pageable.of(0, 2));
+        assertEquals(2, page.rows().size());
+        assertEquals(expectedTotal, page.total());
+        assertTrue(page.hasNext());
+        assertEquals(2, executed.size());
+        // the sqlSelect is not limited by the page
+        assertEquals("SELECT id,name FROM account ORDER BY id", sqlSelect.toSql());
+
+        // total from the count cache
+        executed.clear();
+        Page<Account> secondPage = client.page(sqlSelect, Account.class, Pageable.of(1, 2));
+        assertEquals(expectedTotal, secondPage.total());
+        assertEquals(1, executed.size());
+
+        // first page not full, total without waiting for the count query
+        SqlSelect filtered = SqlSelect.from("account").where("id", Op.eq(1));
+        Page<Account> onePage = client.page(filtered, Account.class, Pageable.of(0, 10));
+        assertEquals(1, onePage.total());
+        assertEquals(1, onePage.totalPages());
+        assertTrue(!onePage.hasNext());
+
+        // the count that is not waited for still returns its connection open
+        for (int i = 0; i < 20; i++) {
+            assertEquals(1, client.page(filtered, Account.class, Pageable.of(0, 10)).total());
+        }
+        assertEquals(expectedTotal, client.queryForObject("SELECT COUNT(*) FROM account", new Object[]{}, Long.class));
+    }
+
+    @Test
+    void should_cache_query_result_and_invalidate_on_write() {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        QueryResultCache resultCache = new QueryResultCache(100, 1024 * 1024, Duration.ofMinutes(1));
+        SimpleJdbcClient client = new SimpleJdbcClient(dataSource)
+            .resultCache(resultCache)
+            .addQueryListener(event -> executed.add(event.sql()));
+
+        SqlSelect sqlSelect = SqlSelect.from("tenant").where("name", Op.eq("cached-tenant"));
+        assertTrue(client.queryForList(sqlSelect, Map.class).isEmpty());
+        assertTrue(client.queryForList(sqlSelect, Map.class).isEmpty());
+        assertEquals(1, executed.size());
+        assertEquals(1, resultCache.stats().hits());
+
+        // the insert of tenant invalidates the cached result
+        client.update("INSERT INTO tenant (account_id, name) VALUES (?, ?)", new Object[]{1, "cached-tenant"});
+        assertEquals(1, client.queryForList(sqlSelect, Map.class).size());
+        assertEquals(1, resultCache.stats().invalidations());
+
+        // writes of other tables keep it, so do the reads not starting with SELECT
+        client.update("UPDATE account SET enabled = enabled WHERE id = ?", new Object[]{-1});
+        client.query("/* hint */ SELECT id FROM tenant WHERE id = ?", new Object[]{-1});
+        executed.clear();
+        assertEquals(1, client.queryForList(sqlSelect, Map.class).size());
+        assertTrue(executed.isEmpty());
+
+        // writes in a transaction invalidate again when it ends
+        client.transaction(() -> client.update("DELETE FROM tenant WHERE name = ?", new Object[]{"cached-tenant"}));
+        assertTrue(client.queryForList(sqlSelect, Map.class).isEmpty());
+        assertThrows(UnsupportedOperationException.class,
+            () -> client.queryForList(sqlSelect, Map.class).add(Map.of()));
+    }
+
+    @Test
+    void should_bound_cached_columnar_results_by_size() {
+        assertEquals(16 + 8 * 1000, QueryResultCache.estimateSize(new long[1000], 0));
+        assertEquals(16 + 4 * 1000, QueryResultCache.estimateSize(new int[1000], 0));
+
+        QueryResultCache resultCache = new QueryResultCache(100, 1024 * 1024, Duration.ofMinutes(1));
+        SimpleJdbcClient client = new SimpleJdbcClient(dataSource).resultCache(resultCache);
+        SqlSelect sqlSelect = SqlSelect.from("account").select("id", "name");
+        ColumnarResult columns = client.query(sqlSelect, ResultType.columnar(), null);
+        assertTrue(resultCache.stats().bytes() >= 8L * columns.rowCount() + 40L * columns.rowCount());
+
+        // larger than the cache, not kept
+        QueryResultCache smallCache = new QueryResultCache(100, 64, Duration.ofMinutes(1));
+        SimpleJdbcClient smallClient = new SimpleJdbcClient(dataSource).resultCache(smallCache);
+        smallClient.query(sqlSelect, ResultType.columnar(), null);
+        assertEquals(0, smallCache.stats().entries());
+    }
+
+    @Test
+    void should_bulk_load_entities_from_iterator() {
+        LocalDateTime createTime = LocalDateTime.of(2025, 9, 1, 10, 30, 0);
+        Iterator<Account> accounts = Stream.iterate(1, i -> i + 1)
+                                           .limit(1000)
+                                           .map(i -> {
+                                               Account account = new Account();
+                                               account.setName(i == 1 ? "bulk \"test\", 1" : "bulk test " + i);
+                                               account.setEmail(i % 2 == 0 ? null : "bulk" + i + "@test.com");
+                                               account.setEnabled(i % 3 != 0);
+                                               account.setCreateTime(createTime);
+                                               return account;
+                                           })
+                                           .iterator();
+
+        List<String> columns = List.of("name", "email", "enabled", "create_time");
+        assertEquals(1000, jdbcClient.bulkLoad("account", columns, accounts, 300));
+
+        List<Map<String, Object>> rows = jdbcClient.query(
+            "SELECT name, email, enabled, create_time FROM account WHERE name LIKE ? ORDER BY id",
+            new Object[]{"bulk %"});
+        assertEquals(1000, rows.size());
+        assertEquals("bulk \"test\", 1", rows.get(0).get("name"));
+        assertEquals("bulk1@test.com", rows.get(0).get("email"));
+        assertNull(rows.get(1).get("email"));
+        assertEquals(1000, jdbcClient.queryForObject(
+            "SELECT COUNT(*) FROM account WHERE name LIKE ? AND create_time = ?",
+            new Object[]{"bulk %", createTime}, Long.class));
+
+        // the columns do not depend on the values of the first entity
+        Account noEmail = new Account();
+        noEmail.setName("bulk test none");
+        Account withEmail = new Account();
+        withEmail.setName("bulk test email");
+        withEmail.setEmail("bulk@test.com");
+        assertEquals(2, jdbcClient.bulkLoad("account", columns, List.of(noEmail, withEmail).iterator(), 1));
+        assertEquals("bulk@test.com", jdbcClient.queryForObject("SELECT email FROM account WHERE name = ?",
+            new Object[]{"bulk test email"}, String.class));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> jdbcClient.bulkLoad("account", List.of("name", "phone"), List.of(noEmail).iterator()));
+
+        // the zoned dates are loaded in the default zone with the fraction of the second
+        LocalDateTime fraction = createTime.withNano(123_456_000);
+        Map<String, Object> zoned = Map.of("name", "bulk test zoned",
+            "create_time", fraction.atZone(ZoneId.systemDefault()).toOffsetDateTime());
+        assertEquals(1, jdbcClient.bulkLoad("account", List.of(zoned).iterator()));
+        assertEquals(fraction, jdbcClient.queryForObject("SELECT create_time FROM account WHERE name = ?",
+            new Object[]{"bulk test zoned"}, LocalDateTime.class));
+    }
+
+    @Test
+    void should_bind_parameters_by_type() {
+        LocalDateTime createTime = LocalDateTime.of(2025, 9, 1, 10, 30, 0);
+        Object[][] batchParams = {
+            {1, "typed-tenant1", true, new BigDecimal("12.34"), createTime},
+            {2L, "typed-tenant2", null, null, null},
+            {null, "typed-tenant3", false, new BigDecimal("0.50"), createTime.plusDays(1)}
+        };
+
+        int[] results = jdbcClient.batchUpdate(
+            "INSERT INTO tenant (account_id, name, enabled, balance, create_time) VALUES (?, ?, ?, ?, ?)",
+            batchParams);
+        assertEquals(3, results.length);
+
+        List<Map<String, Object>> rows = jdbcClient.query(
+            "SELECT account_id, enabled, balance, create_time FROM tenant WHERE name LIKE ? ORDER BY name",
+            new Object[]{"typed-tenant%"});
+        assertEquals(3, rows.size());
+        assertEquals(0, new BigDecimal("12.34").compareTo((BigDecimal) rows.get(0).get("balance")));
+        assertNull(rows.get(1).get("balance"));
+        assertNull(rows.get(1).get("create_time"));
+        assertNull(rows.get(2).get("account_id"));
+
+        Long count = jdbcClient.queryForObject(
+            "SELECT COUNT(*) FROM tenant WHERE name LIKE ? AND create_time >= ? AND balance > ?",
+            new Object[]{"typed-tenant%", createTime, BigDecimal.ZERO}, Long.class);
+        assertEquals(2, count);
+    }
+
 
     @Test
     void should_return_generated_keys_when_insert() {
@@ -201,6 +507,43 @@ class SimpleJdbcClientTest extends DatabaseTest {
         System.err.println(results);
     }
 
+    @Test
+    void should_query_for_stream() {
+        try (Stream<Account> stream = jdbcClient.queryForStream(
+            "SELECT id, name, email FROM account WHERE email like ? ORDER BY id",
+            new Object[]{"%@test.com"},
+            Account.class)) {
+
+            List<Account> accounts = stream.toList();
+            assertEquals(4, accounts.size());
+            assertEquals(1L, accounts.getFirst().getId());
+            assertEquals("Alice", accounts.getFirst().getName());
+        }
+    }
+
+    @Test
+    void should_close_stream_when_short_circuited() {
+        try (Stream<Map> stream = jdbcClient.queryForStream(
+            "SELECT id, name FROM account ORDER BY id",
+            new Object[]{},
+            ResultType.of(Map.class),
+            2)) {
+
+            List<Map> rows = stream.limit(2).toList();
+            assertEquals(2, rows.size());
+            assertEquals("Bob", rows.get(1).get("name"));
+        }
+
+        Integer count = jdbcClient.queryForObject("SELECT COUNT(*) FROM account", new Object[]{}, Integer.class);
+        assertEquals(4, count);
+    }
+
+    @Test
+    void should_throw_exception_when_stream_with_list_result_type() {
+        assertThrows(IllegalArgumentException.class,
+            () -> jdbcClient.queryForStream("SELECT * FROM account", new Object[]{}, ResultType.forList(Account.class)));
+    }
+
 
     private static Object[][] buildParams(int count, String prefix) {
         Object[][] batchParams = new Object[count][];
@@ -0,0 +1,81 @@
+package io.github.reader.sjsql.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.github.reader.sjsql.DatabaseTest;
+import io.github.reader.sjsql.jdbc.SlowQueryLogger.SlowQuery;
+import io.github.reader.sjsql.model.Account;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+class SlowQueryLoggerTest extends DatabaseTest {
+
+    @Test
+    void should_log_slow_query_once_per_interval_with_plan() {
+        List<SlowQuery> slowQueries = new CopyOnWriteArrayList<>();
+        String sql = "SELECT id, name FROM account WHERE id = ?";
+        try (SlowQueryLogger slowQueryLogger = new SlowQueryLogger(Duration.ZERO)
+            .interval(Duration.ofMinutes(10))
+            .redactor((statement, params) -> new Object[]{"***"})
+            .sink(slowQueries::add)
+            .explain(dataSource)) {
+            jdbcClient.addQueryListener(slowQueryLogger);
+            try {
+                for (int i = 1; i <= 3; i++) {
+                    jdbcClient.queryForObject(sql, new Object[]{i}, Account.class);
+                }
+            } finally {
+                jdbcClient.removeQueryListener(slowQueryLogger);
+            }
+        }
+
+        assertEquals(1, slowQueries.size());
+        SlowQuery slowQuery = slowQueries.getFirst();
+        assertEquals(SqlFingerprint.of(sql), slowQuery.fingerprint());
+        assertArrayEquals(new Object[]{"***"}, slowQuery.params());
+        assertEquals(1, slowQuery.rows());
+        assertNotNull(slowQuery.plan());
+        assertFalse(slowQuery.plan().startsWith("EXPLAIN failed"), slowQuery.plan());
+    }
+
+    @Test
+    void should_skip_fast_queries_and_count_suppressed() {
+        List<SlowQuery> slowQueries = new CopyOnWriteArrayList<>();
+        String sql = "UPDATE account SET code = ? WHERE id = ?";
+        SlowQueryLogger fastLogger = new SlowQueryLogger(Duration.ofHours(1)).sink(slowQueries::add);
+        AtomicLong nanos = new AtomicLong();
+        SlowQueryLogger slowLogger = new SlowQueryLogger(Duration.ZERO, nanos::get).interval(Duration.ofSeconds(1))
+                                                                                   .sink(slowQueries::add);
+        jdbcClient.addQueryListener(fastLogger).addQueryListener(slowLogger);
+        try {
+            for (int i = 1; i <= 4; i++) {
+                jdbcClient.update(sql, new Object[]{"slow", i});
+            }
+            assertEquals(1, slowQueries.size());
+
+            // the first execution after the interval reports the executions suppressed in it
+            nanos.addAndGet(Duration.ofMillis(999).toNanos());
+            jdbcClient.update(sql, new Object[]{"slow", 4});
+            assertEquals(1, slowQueries.size());
+            nanos.addAndGet(Duration.ofMillis(1).toNanos());
+            jdbcClient.update(sql, new Object[]{"slow", 5});
+        } finally {
+            jdbcClient.removeQueryListener(fastLogger).removeQueryListener(slowLogger);
+        }
+
+        assertEquals(2, slowQueries.size());
+        assertEquals(0, slowQueries.getFirst().suppressed());
+        assertNull(slowQueries.getFirst().plan());
+        assertArrayEquals(new Object[]{"slow", 1}, slowQueries.getFirst().params());
+        assertEquals(4, slowQueries.get(1).suppressed());
+        assertArrayEquals(new Object[]{"slow", 5}, slowQueries.get(1).params());
+    }
+}
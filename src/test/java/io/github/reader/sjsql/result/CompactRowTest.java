@@ -0,0 +1,55 @@
+package io.github.reader.sjsql.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.reader.sjsql.result.CompactRow.ColumnIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class CompactRowTest {
+
+    @Test
+    void should_behave_like_hash_map() {
+        ColumnIndex index = ColumnIndex.of(new String[]{"id", "name", "email"});
+        CompactRow row = new CompactRow(index, new Object[]{1L, "Alice", null});
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("id", 1L);
+        expected.put("name", "Alice");
+        expected.put("email", null);
+        assertEquals(expected, row);
+        assertEquals(expected.hashCode(), row.hashCode());
+        assertEquals(List.of("id", "name", "email"), List.copyOf(row.keySet()));
+        assertTrue(row.containsKey("email"));
+        assertNull(row.get("unknown"));
+
+        row.put("extra", 2);
+        row.remove("name");
+        assertEquals(3, row.size());
+        assertFalse(row.containsKey("name"));
+        assertEquals(2, row.get("extra"));
+
+        row.put("name", "Bob");
+        assertEquals("Bob", row.get("name"));
+        row.clear();
+        assertTrue(row.isEmpty());
+    }
+
+    @Test
+    void should_share_column_index_and_keep_last_duplicated_label() {
+        ColumnIndex index = ColumnIndex.of(new String[]{"id", "name", "id"});
+        assertEquals(List.of(3, 2), List.of(index.columns()[0], index.columns()[1]));
+
+        CompactRow first = new CompactRow(index, new Object[]{1, "a"});
+        CompactRow second = new CompactRow(index, new Object[]{2, "b"});
+        assertSame(first.keySet().iterator().next(), second.keySet().iterator().next());
+        assertEquals(2, second.get("id"));
+    }
+}
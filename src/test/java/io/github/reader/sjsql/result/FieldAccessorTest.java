@@ -0,0 +1,67 @@
+package io.github.reader.sjsql.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.reader.sjsql.model.Account;
+import org.junit.jupiter.api.Test;
+
+class FieldAccessorTest {
+
+    @Test
+    void should_cache_accessor_by_field() throws Throwable {
+        FieldAccessor accessor = FieldAccessor.of(Account.class.getDeclaredField("name"));
+
+        assertSame(accessor, FieldAccessor.of(Account.class.getDeclaredField("name")));
+    }
+
+    @Test
+    void should_get_and_set_object_field() throws Throwable {
+        Account account = new Account();
+        FieldAccessor accessor = FieldAccessor.of(ClassUtils.getFieldByName(Account.class, "id"));
+
+        accessor.set(account, 10L);
+
+        assertEquals(10L, account.getId());
+        assertEquals(10L, accessor.get(account));
+    }
+
+    @Test
+    void should_get_and_set_primitive_fields() throws Throwable {
+        Counter counter = new Counter();
+        FieldAccessor hits = FieldAccessor.of(Counter.class.getDeclaredField("hits"));
+        FieldAccessor total = FieldAccessor.of(Counter.class.getDeclaredField("total"));
+        FieldAccessor enabled = FieldAccessor.of(Counter.class.getDeclaredField("enabled"));
+
+        hits.setInt(counter, 3);
+        total.setLong(counter, 5L);
+        enabled.setBoolean(counter, true);
+
+        assertEquals(3, hits.getInt(counter));
+        assertEquals(5L, total.getLong(counter));
+        assertTrue(enabled.getBoolean(counter));
+        assertEquals(3, hits.get(counter));
+
+        total.set(counter, 7);
+        assertEquals(7L, counter.total);
+    }
+
+    @Test
+    void should_throw_exception_when_set_final_field() throws Throwable {
+        Counter counter = new Counter();
+        FieldAccessor name = FieldAccessor.of(Counter.class.getDeclaredField("name"));
+
+        assertEquals("counter", name.get(counter));
+        assertThrows(IllegalAccessException.class, () -> name.set(counter, "other"));
+    }
+
+    static class Counter {
+
+        private final String name = "counter";
+        private int hits;
+        private long total;
+        private boolean enabled;
+    }
+}
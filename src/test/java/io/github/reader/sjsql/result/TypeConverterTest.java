@@ -0,0 +1,53 @@
+package io.github.reader.sjsql.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+class TypeConverterTest {
+
+    @Test
+    void should_resolve_converter_once_per_type_pair() {
+        assertSame(TypeConverter.converter(Integer.class, Long.class),
+            TypeConverter.converter(Integer.class, Long.class));
+        assertSame(TypeConverter.converter(String.class, Object.class),
+            TypeConverter.converter(Long.class, Number.class));
+    }
+
+    @Test
+    void should_convert_numbers_directly() {
+        assertEquals(5L, TypeConverter.convert(5, Long.class));
+        assertEquals(5, TypeConverter.convert(5L, int.class));
+        assertEquals(7, TypeConverter.convert(new BigInteger("7"), Integer.class));
+        assertEquals((short) 1, TypeConverter.convert(true, Short.class));
+        assertEquals(true, TypeConverter.convert(1, Boolean.class));
+        assertEquals(new BigDecimal("12"), TypeConverter.convert(12, BigDecimal.class));
+        assertEquals(new BigDecimal("0.1"), TypeConverter.convert(0.1d, BigDecimal.class));
+        assertEquals(new BigInteger("3"), TypeConverter.convert(new BigDecimal("3.7"), BigInteger.class));
+        assertEquals(42L, TypeConverter.convert("42", Long.class));
+        assertNull(TypeConverter.convert("x", Long.class));
+    }
+
+    @Test
+    void should_convert_date_time_without_string() {
+        LocalDateTime dateTime = LocalDateTime.of(2025, 9, 1, 10, 30, 0);
+
+        assertEquals(dateTime, TypeConverter.convert(Timestamp.valueOf(dateTime), LocalDateTime.class));
+        assertEquals(dateTime.toLocalDate(), TypeConverter.convert(dateTime, LocalDate.class));
+        assertEquals(dateTime.toLocalTime(), TypeConverter.convert(dateTime, LocalTime.class));
+        assertEquals(dateTime.toLocalDate().atStartOfDay(),
+            TypeConverter.convert(dateTime.toLocalDate(), LocalDateTime.class));
+        assertEquals(dateTime, TypeConverter.convert(OffsetDateTime.of(dateTime, ZoneOffset.UTC), LocalDateTime.class));
+    }
+}